@@ -79,6 +79,7 @@ describe('StressTestResultService', () => {
       maxResponseTime: 1500,
       p90ResponseTime: 450,
       p95ResponseTime: 600,
+      p99ResponseTime: 800,
       throughput: 100
     };
 
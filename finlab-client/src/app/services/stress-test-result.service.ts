@@ -23,6 +23,7 @@ export interface TestResultSummary {
   maxResponseTime: number;
   p90ResponseTime: number;
   p95ResponseTime: number;
+  p99ResponseTime: number;
   throughput: number;
 }
 
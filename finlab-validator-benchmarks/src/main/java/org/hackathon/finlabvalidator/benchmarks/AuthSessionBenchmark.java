@@ -0,0 +1,48 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import org.hackathon.finlabvalidator.application.AuthSessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing a session token, which happens on every session create and end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthSessionBenchmark {
+
+    // Roughly the length of the gateway's signed JWTs, and a short opaque token
+    @Param({"200", "36"})
+    public int tokenLength;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] bytes = new byte[tokenLength];
+        new Random(42).nextBytes(bytes);
+        token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes).substring(0, tokenLength);
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return AuthSessionService.hashToken(token);
+    }
+}
@@ -0,0 +1,32 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates valid German IBANs (18-digit BBAN, ISO 7064 check digits) from a fixed seed, so every run
+ * benchmarks the same keys.
+ */
+final class BenchmarkIbans {
+
+    private static final long BBAN_RANGE = 1_000_000_000_000_000_000L;
+    private static final BigInteger MODULUS = BigInteger.valueOf(97);
+    // "DE00" moved behind the BBAN, letters as D=13 and E=14
+    private static final String COUNTRY_SUFFIX = "131400";
+
+    private BenchmarkIbans() {
+    }
+
+    static List<String> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> ibans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String bban = String.format("%018d", Math.floorMod(random.nextLong(), BBAN_RANGE));
+            int checkDigits = 98 - new BigInteger(bban + COUNTRY_SUFFIX).mod(MODULUS).intValue();
+            ibans.add(String.format("DE%02d%s", checkDigits, bban));
+        }
+        return ibans;
+    }
+}
@@ -0,0 +1,60 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import org.hackathon.finlabvalidator.application.cache.IbanCacheKeys;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheShardRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the Redis key for an IBAN in each cache layout, and routing it to a node of a sharded cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private static final int BUCKETS = 10_000;
+
+    private String[] ibans;
+    private IbanCacheShardRing ring;
+
+    @Setup
+    public void setUp() {
+        ibans = BenchmarkIbans.generate(10_000, 42).toArray(String[]::new);
+        ring = new IbanCacheShardRing(List.of("redis-1:6379", "redis-2:6379", "redis-3:6379"));
+    }
+
+    @Benchmark
+    public String stringLayoutKey() {
+        return IbanCacheKeys.key(IbanCacheKeys.PREFIX, nextIban());
+    }
+
+    @Benchmark
+    public String hashLayoutBucketKey() {
+        return IbanCacheKeys.bucketKey(IbanCacheKeys.HASH_PREFIX, BUCKETS, nextIban(), false);
+    }
+
+    @Benchmark
+    public int shardRouting() {
+        return ring.shardFor(nextIban());
+    }
+
+    private String nextIban() {
+        return ibans[ThreadLocalRandom.current().nextInt(ibans.length)];
+    }
+}
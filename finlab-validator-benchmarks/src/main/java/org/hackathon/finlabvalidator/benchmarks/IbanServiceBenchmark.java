@@ -0,0 +1,115 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.IbanService;
+import org.hackathon.finlabvalidator.application.cache.IbanBloomFilter;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheTtl;
+import org.hackathon.finlabvalidator.application.cache.IbanHedgePolicy;
+import org.hackathon.finlabvalidator.application.cache.IbanHotSet;
+import org.hackathon.finlabvalidator.application.cache.IbanLoadCoalescer;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupMetrics;
+import org.hackathon.finlabvalidator.application.cache.IbanNearCache;
+import org.hackathon.finlabvalidator.application.cache.IbanNegativeCache;
+import org.hackathon.finlabvalidator.application.cache.IbanRefreshAhead;
+import org.hackathon.finlabvalidator.application.concurrency.ConcurrencyLimits;
+import org.hackathon.finlabvalidator.infrastructure.RedisConfig;
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IbanService#validate} with the in-memory repository and cache store, per tier that answers the lookup:
+ * the near-cache, the Redis cache, the database (cache writes dropped so every lookup misses), or the Bloom filter
+ * rejecting an unknown IBAN. Metrics, hot-set tracking and refresh-ahead run as they do in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IbanServiceBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+    private static final IbanStatus[] STATUSES = IbanStatus.values();
+
+    @Param({"near-cache", "redis", "database", "bloom-rejected"})
+    public String tier;
+
+    private IbanService service;
+    private String[] lookups;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<String> ibans = BenchmarkIbans.generate(ACCOUNTS, 42);
+
+        InMemoryIbanRepository repository = new InMemoryIbanRepository();
+        InMemoryIbanCacheStore cacheStore = new InMemoryIbanCacheStore(!tier.equals("database"));
+        IbanNegativeCache negativeCache = new IbanNegativeCache(meterRegistry, true, 0.01, Duration.ofSeconds(60));
+        IbanBloomFilter filter = negativeCache.newFilter(ACCOUNTS);
+        for (int i = 0; i < ibans.size(); i++) {
+            IbanStatus status = STATUSES[i % STATUSES.length];
+            repository.add(new IbanDto(i, ibans.get(i), status));
+            filter.put(ibans.get(i));
+            if (tier.equals("near-cache") || tier.equals("redis")) {
+                cacheStore.seed(ibans.get(i), status.name());
+            }
+        }
+        negativeCache.publish(filter);
+
+        service = new IbanService(
+                repository,
+                cacheStore,
+                new IbanNearCache(null, new StaticListableBeanFactory().getBeanProvider(ClientResources.class),
+                        meterRegistry, tier.equals("near-cache"), ACCOUNTS, Duration.ofMinutes(30)),
+                negativeCache,
+                new IbanLoadCoalescer(meterRegistry),
+                new IbanRefreshAhead(meterRegistry, true, Duration.ofMinutes(2)),
+                new IbanCacheTtl(new FixedTtlRedisConfig(), 0.2),
+                new IbanHotSet(null, meterRegistry, true, ACCOUNTS, 0.5, Duration.ofMinutes(5)),
+                new IbanHedgePolicy(meterRegistry, false, 0.95, Duration.ofMillis(2), Duration.ofMillis(50), 0.05),
+                new IbanLookupMetrics(meterRegistry),
+                new ConcurrencyLimits(meterRegistry, "/api/v1", true, Duration.ofSeconds(1), 1.5,
+                        Duration.ofMillis(100), 200, 20, 2000, 10, 4, 10, 0));
+
+        lookups = tier.equals("bloom-rejected")
+                ? BenchmarkIbans.generate(ACCOUNTS, 7).toArray(String[]::new)
+                : ibans.toArray(String[]::new);
+        if (tier.equals("near-cache")) {
+            for (String iban : lookups) {
+                service.validate(iban).block();
+            }
+        }
+    }
+
+    @Benchmark
+    public IbanStatus validate() {
+        return service.validate(lookups[ThreadLocalRandom.current().nextInt(lookups.length)]).block();
+    }
+
+    private static final class FixedTtlRedisConfig extends RedisConfig {
+        @Override
+        public Duration getDefaultTTL() {
+            return Duration.ofHours(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hackathon.finlabvalidator.api.controllers.IbanStatusResponses;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting {@link IbanStatus} to and from the cached Redis value and the JSON response body, and picking the
+ * pre-encoded response the account endpoint serves instead of serializing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanStatusCodecBenchmark {
+
+    private static final IbanStatus[] STATUSES = IbanStatus.values();
+    private static final String[] CACHED = {"ALLOW", "REVIEW", "BLOCK"};
+    private static final String[] JSON = {"\"ALLOW\"", "\"REVIEW\"", "\"BLOCK\""};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IbanStatusResponses responses = new IbanStatusResponses("1", Duration.ofSeconds(30), false);
+
+    @Benchmark
+    public IbanStatus parseCachedValue() {
+        return IbanStatus.valueOf(CACHED[next()]);
+    }
+
+    @Benchmark
+    public String serializeCachedValue() {
+        return STATUSES[next()].name();
+    }
+
+    @Benchmark
+    public IbanStatus parseJson() throws JsonProcessingException {
+        return objectMapper.readValue(JSON[next()], IbanStatus.class);
+    }
+
+    @Benchmark
+    public String serializeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(STATUSES[next()]);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> preEncodedResponse() {
+        return responses.of(STATUSES[next()], null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notModifiedResponse() {
+        IbanStatus status = STATUSES[next()];
+        return responses.of(status, responses.etag(status));
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(STATUSES.length);
+    }
+}
@@ -0,0 +1,83 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import org.hackathon.finlabvalidator.application.cache.IIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheEntry;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheHit;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheKeys;
+import org.hackathon.finlabvalidator.application.cache.IbanWriteFence;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for the Redis cache store. Keys are built like {@code StringIbanCacheStore} builds them. With
+ * {@code retainWrites} off, writes are accepted and dropped, so every lookup keeps missing the cache.
+ */
+final class InMemoryIbanCacheStore implements IIbanCacheStore {
+
+    private static final long TTL_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final boolean retainWrites;
+
+    InMemoryIbanCacheStore(boolean retainWrites) {
+        this.retainWrites = retainWrites;
+    }
+
+    void seed(String iban, String value) {
+        values.put(IbanCacheKeys.key(IbanCacheKeys.PREFIX, iban), value);
+    }
+
+    @Override
+    public Mono<String> get(String iban) {
+        return Mono.justOrEmpty(values.get(IbanCacheKeys.key(IbanCacheKeys.PREFIX, iban)));
+    }
+
+    @Override
+    public Mono<IbanCacheHit> getWithTtl(String iban) {
+        return get(iban).map(value -> new IbanCacheHit(value, TTL_MILLIS));
+    }
+
+    @Override
+    public Mono<List<String>> getAll(List<String> ibans) {
+        return Mono.fromSupplier(() -> {
+            List<String> found = new ArrayList<>(ibans.size());
+            for (String iban : ibans) {
+                found.add(values.get(IbanCacheKeys.key(IbanCacheKeys.PREFIX, iban)));
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String iban, String value, Duration ttl) {
+        return Mono.fromRunnable(() -> {
+            if (retainWrites) {
+                seed(iban, value);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> putAll(List<IbanCacheEntry> entries) {
+        return Mono.fromRunnable(() -> {
+            if (retainWrites) {
+                entries.forEach(entry -> seed(entry.iban(), entry.value()));
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence) {
+        return putAll(entries).thenReturn(true);
+    }
+
+    @Override
+    public String keyPattern() {
+        return IbanCacheKeys.pattern(IbanCacheKeys.PREFIX);
+    }
+}
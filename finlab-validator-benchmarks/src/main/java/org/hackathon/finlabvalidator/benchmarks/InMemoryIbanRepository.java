@@ -0,0 +1,33 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.hackathon.finlabvalidator.persistence.repository.IReactiveIbanRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for the PostgreSQL repository; answers from a map so the benchmark measures the service, not the database.
+ */
+final class InMemoryIbanRepository implements IReactiveIbanRepository {
+
+    private final Map<String, IbanDto> accounts = new HashMap<>();
+
+    void add(IbanDto account) {
+        accounts.put(account.iban(), account);
+    }
+
+    @Override
+    public Mono<IbanDto> findByIban(String iban) {
+        return Mono.justOrEmpty(accounts.get(iban));
+    }
+
+    @Override
+    public Flux<IbanDto> findAllByIban(Collection<String> ibans) {
+        return Flux.fromIterable(ibans)
+                .mapNotNull(accounts::get);
+    }
+}
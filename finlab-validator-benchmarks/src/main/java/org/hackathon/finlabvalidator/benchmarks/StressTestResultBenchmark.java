@@ -0,0 +1,83 @@
+package org.hackathon.finlabvalidator.benchmarks;
+
+import org.hackathon.finlabvalidator.application.StressTestResultService;
+import org.hackathon.finlabvalidator.persistence.domain.TestResultSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Summarising a generated JMeter results file with {@link StressTestResultService#getSummary}. The file has the
+ * CSV columns JMeter writes by default and about 2% failed samples.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StressTestResultBenchmark {
+
+    private static final String TEST_ID = "extreme-load-20250101-120000";
+    private static final String HEADER = "timeStamp,elapsed,label,responseCode,responseMessage,threadName,dataType,"
+            + "success,failureMessage,bytes,sentBytes,grpThreads,allThreads,URL,Latency,IdleTime,Connect";
+
+    @Param({"1000000"})
+    public int lines;
+
+    private Path directory;
+    private StressTestResultService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jtl-benchmark");
+        Random random = new Random(42);
+        long timestamp = 1_735_732_800_000L;
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(TEST_ID + StressTestResultService.RESULTS_JTL))) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < lines; i++) {
+                timestamp += random.nextInt(3);
+                int elapsed = 5 + (int) Math.abs(random.nextGaussian() * 40);
+                boolean success = random.nextInt(50) != 0;
+                writer.write(timestamp + "," + elapsed + ",Validate IBAN," + (success ? "200,OK" : "503,Service Unavailable")
+                        + ",Thread Group 1-" + (i % 500 + 1) + ",text," + success + ",,187,214,500,500,"
+                        + "https://finlab-client/api/v1/accounts/DE89370400440532013000," + (elapsed - 1) + ",0,1");
+                writer.newLine();
+            }
+        }
+        service = new StressTestResultService(directory.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public TestResultSummary summarize() {
+        return service.getSummary(TEST_ID).orElseThrow();
+    }
+}
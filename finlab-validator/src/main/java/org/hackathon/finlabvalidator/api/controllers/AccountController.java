@@ -1,28 +1,95 @@
 package org.hackathon.finlabvalidator.api.controllers;
 
+import org.hackathon.finlabvalidator.api.models.BatchValidationRequest;
+import org.hackathon.finlabvalidator.api.models.BatchValidationResponse;
 import org.hackathon.finlabvalidator.application.IAccountService;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupTimings;
+import org.hackathon.finlabvalidator.application.validation.IbanFormat;
 import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
-@RequestMapping("${app.api.base-path}/accounts/")
+@RequestMapping("${app.api.base-path}")
 public class AccountController {
 
+    private static final String SERVER_TIMING = "Server-Timing";
+
     private final IAccountService service;
+    private final int batchMaxSize;
+    private final boolean serverTiming;
+    private final IbanStatusResponses statusResponses;
 
-    public AccountController(IAccountService service) {
+    public AccountController(IAccountService service,
+                             @Value("${app.api.batch.max-size:1000}") int batchMaxSize,
+                             @Value("${app.api.server-timing:false}") boolean serverTiming,
+                             @Value("${app.api.version}") String apiVersion,
+                             @Value("${app.api.http-cache.max-age:30s}") Duration maxAge,
+                             @Value("${app.api.http-cache.shared:false}") boolean sharedCache) {
         this.service = service;
+        this.batchMaxSize = batchMaxSize;
+        this.serverTiming = serverTiming;
+        this.statusResponses = new IbanStatusResponses(apiVersion, maxAge, sharedCache);
+    }
+
+    @GetMapping("/accounts/{iban}")
+    public Mono<ResponseEntity<byte[]>> validate(@PathVariable String iban,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        String canonicalIban = IbanFormat.canonicalize(iban);
+        if (!IbanFormat.isValid(canonicalIban)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return withServerTiming(service.validate(canonicalIban)
+                .map(status -> statusResponses.of(status, ifNoneMatch))
+                .defaultIfEmpty(ResponseEntity.notFound().build()));
+    }
+
+    @PostMapping("/accounts:batch")
+    public Mono<ResponseEntity<BatchValidationResponse>> validateBatch(@RequestBody BatchValidationRequest request) {
+        List<String> ibans = request.ibans();
+        if (ibans == null || ibans.isEmpty() || ibans.size() > batchMaxSize || ibans.contains(null)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return withServerTiming(service.validateAll(ibans)
+                .map(found -> {
+                    Map<String, IbanStatus> statuses = new LinkedHashMap<>();
+                    for (String iban : ibans) {
+                        statuses.put(iban, found.get(IbanFormat.canonicalize(iban)));
+                    }
+                    return ResponseEntity.ok(new BatchValidationResponse(statuses));
+                }));
     }
 
-    @GetMapping("{iban}")
-    public Mono<ResponseEntity<IbanStatus>> validate(@PathVariable String iban) {
-        return service.validate(iban)
-                .map(ResponseEntity::ok)
-                .defaultIfEmpty(ResponseEntity.notFound().build());
+    private <T> Mono<ResponseEntity<T>> withServerTiming(Mono<ResponseEntity<T>> response) {
+        if (!serverTiming) {
+            return response;
+        }
+        return Mono.defer(() -> {
+            IbanLookupTimings timings = new IbanLookupTimings();
+            return response
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(entity.getHeaders())
+                            .header(SERVER_TIMING, timings.toHeader())
+                            .body(entity.getBody()))
+                    .contextWrite(Context.of(IbanLookupTimings.class, timings));
+        });
     }
 }
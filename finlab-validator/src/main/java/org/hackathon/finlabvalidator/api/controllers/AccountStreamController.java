@@ -0,0 +1,96 @@
+package org.hackathon.finlabvalidator.api.controllers;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hackathon.finlabvalidator.api.models.StreamValidationRequest;
+import org.hackathon.finlabvalidator.application.IIbanStreamService;
+import org.hackathon.finlabvalidator.persistence.domain.IbanValidationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Streams NDJSON results through a {@link ResponseBodyEmitter} with its own timeout, so a long upload is not cut off
+ * by {@code spring.mvc.async.request-timeout}, which stays short for every other async request. Results are written on
+ * the blocking scheduler; {@code publishOn} keeps at most one prefetch of them queued while the client reads slowly.
+ */
+@RestController
+@RequestMapping("${app.api.base-path}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccountStreamController {
+
+    private final IIbanStreamService streamService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final Scheduler blockingScheduler;
+    private final long timeoutMillis;
+
+    public AccountStreamController(IIbanStreamService streamService,
+                                   ObjectMapper objectMapper,
+                                   Scheduler blockingScheduler,
+                                   @Value("${app.api.stream.timeout:30m}") Duration timeout) {
+        this.streamService = streamService;
+        this.requestReader = objectMapper.readerFor(StreamValidationRequest.class);
+        this.resultWriter = objectMapper.writerFor(IbanValidationResult.class);
+        this.blockingScheduler = blockingScheduler;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @PostMapping(value = "/accounts:stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> validateStream(HttpServletRequest request) {
+        Flux<String> ibans = Flux.using(
+                        () -> requestReader.<StreamValidationRequest>readValues(request.getInputStream()),
+                        lines -> Flux.fromIterable(() -> lines),
+                        AccountStreamController::close)
+                .mapNotNull(StreamValidationRequest::iban)
+                .subscribeOn(blockingScheduler);
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        Disposable subscription = streamService.validate(ibans)
+                .publishOn(blockingScheduler)
+                .subscribe(result -> send(emitter, result), emitter::completeWithError, emitter::complete);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private void send(ResponseBodyEmitter emitter, IbanValidationResult result) {
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            resultWriter.writeValue(line, result);
+            line.write('\n');
+            emitter.send(line.toByteArray(), MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(MappingIterator<StreamValidationRequest> lines) {
+        try {
+            lines.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,9 +4,9 @@ import org.hackathon.finlabvalidator.api.models.CreateSessionRequest;
 import org.hackathon.finlabvalidator.api.models.EndSessionRequest;
 import org.hackathon.finlabvalidator.api.models.SessionResponse;
 import org.hackathon.finlabvalidator.application.IAuthSessionService;
-import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("${app.api.base-path}/auth-sessions")
@@ -19,14 +19,14 @@ public class AuthSessionController {
     }
 
     @PostMapping
-    public ResponseEntity<SessionResponse> createSession(@RequestBody CreateSessionRequest request) {
-        AuthSession session = authSessionService.create(request.token(), request.username());
-        return ResponseEntity.ok(new SessionResponse(session.getId(), "Session created"));
+    public Mono<ResponseEntity<SessionResponse>> createSession(@RequestBody CreateSessionRequest request) {
+        return authSessionService.create(request.token(), request.username())
+                .map(session -> ResponseEntity.ok(new SessionResponse(session.getId(), "Session created")));
     }
 
     @PutMapping("/end")
-    public ResponseEntity<Void> endSession(@RequestBody EndSessionRequest request) {
-        authSessionService.end(request.token());
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> endSession(@RequestBody EndSessionRequest request) {
+        return authSessionService.end(request.token())
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
     }
 }
@@ -0,0 +1,77 @@
+package org.hackathon.finlabvalidator.api.controllers;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Single-IBAN responses, built once per status. The body is the JSON string Jackson would write for the status, so
+ * serving a lookup only picks a prebuilt response. Each status has an ETag made of the API version and the status; a
+ * matching {@code If-None-Match} gets {@code 304 Not Modified} without a body. The tag is intentionally weak and
+ * derived from the value rather than a data version such as {@code updated_at}: it tells a client its copy still
+ * says the same thing, not that the row is unchanged, which is all a status lookup needs and keeps the version out of
+ * every cache tier. {@code max-age} bounds how long a client may keep a status that has since changed, as HTTP caches
+ * are not told about changes. Responses are {@code private} unless {@code shared} is set, because nginx sits in front
+ * of the gateway's authentication.
+ */
+public final class IbanStatusResponses {
+
+    private final Map<IbanStatus, String> etags = new EnumMap<>(IbanStatus.class);
+    private final Map<IbanStatus, ResponseEntity<byte[]>> ok = new EnumMap<>(IbanStatus.class);
+    private final Map<IbanStatus, ResponseEntity<byte[]>> notModified = new EnumMap<>(IbanStatus.class);
+
+    public IbanStatusResponses(String apiVersion, Duration maxAge, boolean shared) {
+        CacheControl cacheControl = maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge);
+        cacheControl = shared ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+
+        for (IbanStatus status : IbanStatus.values()) {
+            String etag = "W/\"v" + apiVersion + "-" + status.name() + "\"";
+            byte[] body = ("\"" + status.name() + "\"").getBytes(StandardCharsets.UTF_8);
+            etags.put(status, etag);
+            ok.put(status, ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(body));
+            notModified.put(status, ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build());
+        }
+    }
+
+    public String etag(IbanStatus status) {
+        return etags.get(status);
+    }
+
+    public ResponseEntity<byte[]> of(IbanStatus status, String ifNoneMatch) {
+        return matches(ifNoneMatch, etags.get(status)) ? notModified.get(status) : ok.get(status);
+    }
+
+    // If-None-Match uses weak comparison, so W/ prefixes are ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaqueTag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = opaque(candidate.trim());
+            if (tag.equals("*") || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,31 @@
+package org.hackathon.finlabvalidator.api.controllers;
+
+import org.hackathon.finlabvalidator.api.models.StreamValidationRequest;
+import org.hackathon.finlabvalidator.application.IIbanStreamService;
+import org.hackathon.finlabvalidator.persistence.domain.IbanValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("${app.api.base-path}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAccountStreamController {
+
+    private final IIbanStreamService streamService;
+
+    public ReactiveAccountStreamController(IIbanStreamService streamService) {
+        this.streamService = streamService;
+    }
+
+    @PostMapping(value = "/accounts:stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IbanValidationResult> validateStream(@RequestBody Flux<StreamValidationRequest> requests) {
+        return streamService.validate(requests.mapNotNull(StreamValidationRequest::iban));
+    }
+}
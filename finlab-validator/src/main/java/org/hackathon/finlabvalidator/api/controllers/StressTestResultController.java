@@ -10,25 +10,30 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @RestController
 @RequestMapping("${app.api.base-path}/results")
 public class StressTestResultController {
 
     private final IStressTestResultService service;
+    private final Scheduler blockingScheduler;
 
-    public StressTestResultController(IStressTestResultService service) {
+    public StressTestResultController(IStressTestResultService service, Scheduler blockingScheduler) {
         this.service = service;
+        this.blockingScheduler = blockingScheduler;
     }
 
     @GetMapping
     public Flux<TestResultListItem> listTestResults() {
-        return Flux.fromIterable(service.list());
+        return Flux.defer(() -> Flux.fromIterable(service.list()))
+                .subscribeOn(blockingScheduler);
     }
 
     @GetMapping("/{testId}")
     public Mono<ResponseEntity<TestResultSummary>> getTestResultSummary(@PathVariable String testId) {
         return Mono.fromCallable(() -> service.getSummary(testId))
+                .subscribeOn(blockingScheduler)
                 .map(optional -> optional
                         .map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build())
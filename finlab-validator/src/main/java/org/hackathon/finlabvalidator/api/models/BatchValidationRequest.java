@@ -0,0 +1,5 @@
+package org.hackathon.finlabvalidator.api.models;
+
+import java.util.List;
+
+public record BatchValidationRequest(List<String> ibans) {}
@@ -0,0 +1,7 @@
+package org.hackathon.finlabvalidator.api.models;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+
+import java.util.Map;
+
+public record BatchValidationResponse(Map<String, IbanStatus> statuses) {}
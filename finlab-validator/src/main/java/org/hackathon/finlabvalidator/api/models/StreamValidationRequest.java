@@ -0,0 +1,3 @@
+package org.hackathon.finlabvalidator.api.models;
+
+public record StreamValidationRequest(String iban) {}
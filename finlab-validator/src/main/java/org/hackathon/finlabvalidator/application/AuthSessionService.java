@@ -2,8 +2,9 @@ package org.hackathon.finlabvalidator.application;
 
 import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
 import org.hackathon.finlabvalidator.persistence.domain.SessionStatus;
-import org.hackathon.finlabvalidator.persistence.repository.IAuthSessionRepository;
+import org.hackathon.finlabvalidator.persistence.repository.IReactiveAuthSessionRepository;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -13,14 +14,14 @@ import java.time.LocalDateTime;
 @Service
 public class AuthSessionService implements IAuthSessionService {
 
-    private final IAuthSessionRepository repository;
+    private final IReactiveAuthSessionRepository repository;
 
-    public AuthSessionService(IAuthSessionRepository repository) {
+    public AuthSessionService(IReactiveAuthSessionRepository repository) {
         this.repository = repository;
     }
 
     @Override
-    public AuthSession create(String token, String username) {
+    public Mono<AuthSession> create(String token, String username) {
         String tokenHash = hashToken(token);
         AuthSession session = new AuthSession();
         session.setTokenHash(tokenHash);
@@ -32,16 +33,18 @@ public class AuthSessionService implements IAuthSessionService {
     }
 
     @Override
-    public void end(String token) {
+    public Mono<Void> end(String token) {
         String tokenHash = hashToken(token);
-        repository.findByTokenHash(tokenHash).ifPresent(session -> {
-            session.setLogoutTime(LocalDateTime.now());
-            session.setStatus(SessionStatus.LOGGED_OUT);
-            repository.save(session);
-        });
+        return repository.findByTokenHash(tokenHash)
+                .flatMap(session -> {
+                    session.setLogoutTime(LocalDateTime.now());
+                    session.setStatus(SessionStatus.LOGGED_OUT);
+                    return repository.save(session);
+                })
+                .then();
     }
 
-    private String hashToken(String token) {
+    public static String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -3,6 +3,10 @@ package org.hackathon.finlabvalidator.application;
 import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface IAccountService {
     Mono<IbanStatus> validate(String iban);
+    Mono<Map<String, IbanStatus>> validateAll(Collection<String> ibans);
 }
@@ -1,8 +1,9 @@
 package org.hackathon.finlabvalidator.application;
 
 import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
+import reactor.core.publisher.Mono;
 
 public interface IAuthSessionService {
-    AuthSession create(String token, String username);
-    void end(String token);
+    Mono<AuthSession> create(String token, String username);
+    Mono<Void> end(String token);
 }
@@ -0,0 +1,8 @@
+package org.hackathon.finlabvalidator.application;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanValidationResult;
+import reactor.core.publisher.Flux;
+
+public interface IIbanStreamService {
+    Flux<IbanValidationResult> validate(Flux<String> ibans);
+}
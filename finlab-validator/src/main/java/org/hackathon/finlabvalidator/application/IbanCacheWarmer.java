@@ -1,19 +1,35 @@
 package org.hackathon.finlabvalidator.application;
 
-import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.hackathon.finlabvalidator.application.cache.IbanBloomFilter;
+import org.hackathon.finlabvalidator.application.cache.IIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheEntry;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheTtl;
+import org.hackathon.finlabvalidator.application.cache.IbanChangeListener;
+import org.hackathon.finlabvalidator.application.cache.IbanHotSet;
+import org.hackathon.finlabvalidator.application.cache.IbanNegativeCache;
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupCoordinator;
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupProgress;
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupRun;
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupState;
+import org.hackathon.finlabvalidator.application.cache.IbanWriteFence;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
 import org.hackathon.finlabvalidator.persistence.repository.IIbanRepository;
+import org.hackathon.finlabvalidator.persistence.repository.IbanRowHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
@@ -23,28 +39,53 @@ public class IbanCacheWarmer {
     private static final int PAGE_SIZE = 10000;
 
     private final IIbanRepository repository;
-    private final ReactiveStringRedisTemplate redis;
-    private final Duration cacheTtl;
+    private final IIbanCacheStore cacheStore;
+    private final IbanNegativeCache negativeCache;
+    private final IbanChangeListener changeListener;
+    private final IbanHotSet hotSet;
+    private final IbanWarmupCoordinator coordinator;
+    private final IbanWarmupState state;
+    private final Scheduler blockingScheduler;
+    private final IbanCacheTtl cacheTtl;
     private final long maxEntries;
     private final boolean warmupEnabled;
+    private final Duration reuseWindow;
+    private final Duration pollInterval;
     private final AtomicBoolean isWarming = new AtomicBoolean(false);
 
     public IbanCacheWarmer(IIbanRepository repository,
-                           ReactiveStringRedisTemplate redis,
-                           org.hackathon.finlabvalidator.infrastructure.RedisConfig redisConfig,
+                           IIbanCacheStore cacheStore,
+                           IbanNegativeCache negativeCache,
+                           IbanChangeListener changeListener,
+                           IbanHotSet hotSet,
+                           IbanWarmupCoordinator coordinator,
+                           IbanWarmupState state,
+                           Scheduler blockingScheduler,
+                           IbanCacheTtl cacheTtl,
                            @Value("${cache.iban.max-entries}") long maxEntries,
-                           @Value("${cache.iban.warmup.enabled:true}") boolean warmupEnabled) {
+                           @Value("${cache.iban.warmup.enabled:true}") boolean warmupEnabled,
+                           @Value("${cache.iban.warmup.reuse-window:10m}") Duration reuseWindow,
+                           @Value("${cache.iban.warmup.poll-interval:1s}") Duration pollInterval) {
         this.repository = repository;
-        this.redis = redis;
-        this.cacheTtl = redisConfig.getDefaultTTL();
+        this.cacheStore = cacheStore;
+        this.negativeCache = negativeCache;
+        this.changeListener = changeListener;
+        this.hotSet = hotSet;
+        this.coordinator = coordinator;
+        this.state = state;
+        this.blockingScheduler = blockingScheduler;
+        this.cacheTtl = cacheTtl;
         this.maxEntries = maxEntries;
         this.warmupEnabled = warmupEnabled;
+        this.reuseWindow = reuseWindow;
+        this.pollInterval = pollInterval;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     public void warmCacheOnStartup() {
         if (!warmupEnabled) {
             log.info("IBAN cache warm-up is disabled");
+            state.disabled();
             return;
         }
 
@@ -52,28 +93,28 @@ public class IbanCacheWarmer {
             log.info("Starting IBAN cache warm-up in background (non-blocking)...");
             Mono.fromRunnable(() -> {
                 warmCache()
-                        .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
+                        .subscribeOn(blockingScheduler)
                         .doFinally(signal -> isWarming.set(false))
                         .subscribe(
                                 v -> log.info("Background cache warm-up completed successfully"),
                                 e -> log.error("Background cache warm-up failed", e)
                         );
-            }).subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic()).subscribe();
+            }).subscribeOn(blockingScheduler).subscribe();
         } else {
             log.info("IBAN cache warm-up already in progress, skipping startup warmup");
         }
     }
 
-    @Scheduled(cron = "0 0 * * * *")
+    @Scheduled(cron = "${cache.iban.warmup.refresh-cron:0 0 3 * * *}")
     public void scheduledWarmCache() {
         if (!warmupEnabled) {
             return;
         }
 
         if (isWarming.compareAndSet(false, true)) {
-            log.info("Starting scheduled IBAN cache refresh...");
-            warmCache()
-                    .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
+            log.info("Starting scheduled IBAN cache reconciliation...");
+            warm(true)
+                    .subscribeOn(blockingScheduler)
                     .doFinally(signal -> isWarming.set(false))
                     .subscribe(
                             v -> log.info("Scheduled cache refresh completed successfully"),
@@ -85,37 +126,243 @@ public class IbanCacheWarmer {
     }
 
     public Mono<Void> warmCache() {
-        return Mono.fromCallable(() -> repository.findAll(1, 1))
-                .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
-                .flatMapMany(firstPage -> {
-                    long totalCount = Math.min(firstPage.totalCount(), maxEntries);
-                    long totalPages = (long) Math.ceil((double) totalCount / PAGE_SIZE);
-
-                    log.info("Loading {} IBANs in {} pages (page size: {}, max entries: {})",
-                            totalCount, totalPages, PAGE_SIZE, maxEntries);
-
-                    return Flux.range(1, (int) totalPages)
-                            .concatMap(page -> Mono.fromCallable(() -> repository.findAll(page, PAGE_SIZE))
-                                    .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
-                                    .flatMapMany(result -> Flux.fromIterable(result.items()))
-                                    .buffer(PAGE_SIZE)
-                                    .flatMap(this::saveToRedis)
-                                    .doOnComplete(() -> log.info("Loaded page {}/{}", page, totalPages))
-                            );
-                })
+        return warm(false);
+    }
+
+    private Mono<Void> warm(boolean hotOnly) {
+        return Mono.fromRunnable(() -> runWarmup(hotOnly))
+                .subscribeOn(blockingScheduler)
                 .then()
                 .doOnSuccess(v -> log.info("IBAN cache warm-up completed successfully"))
-                .doOnError(e -> log.error("Error during IBAN cache warm-up", e));
+                .doOnError(e -> {
+                    state.failed(e);
+                    log.error("Error during IBAN cache warm-up", e);
+                });
+    }
+
+    private void runWarmup(boolean hotOnly) {
+        IbanWarmupRun run = coordinator.startOrJoin(repository.stats(), repository.currentTimestamp(), hotOnly, reuseWindow)
+                .block();
+        long totalCount = Math.min(run.rowCount(), maxEntries);
+        Set<String> hot = loadHotSet(totalCount);
+        long coldQuota = run.hotOnly() && !hot.isEmpty() ? 0 : Math.max(0, totalCount - hot.size());
+
+        log.info("Joined warm-up run {}: {} rows in {} partitions of ids {}..{}, {} hot and up to {} other IBANs "
+                        + "(page size: {}, max entries: {}, bloom filter: {})",
+                run.generation(), run.rowCount(), run.partitions(), run.minId(), run.maxId(), hot.size(), coldQuota,
+                PAGE_SIZE, maxEntries, negativeCache.isBloomEnabled());
+
+        state.started(run.generation(), run.partitions());
+        long startedAt = System.nanoTime();
+        long written = 0;
+        long hotWritten = 0;
+        int offset = Math.floorMod(coordinator.owner().hashCode(), run.partitions());
+        // One filter for every partition this replica warms; each completed partition ORs it into the shared bitmap
+        IbanBloomFilter bloomFilter = null;
+        int remaining;
+        while ((remaining = coordinator.remainingPartitions(run).block()) > 0) {
+            state.partitionsDone(run.partitions() - remaining);
+            boolean claimed = false;
+            for (int i = 0; i < run.partitions(); i++) {
+                int partition = (offset + i) % run.partitions();
+                Long token = coordinator.claim(run, partition).block();
+                if (token != null && token > 0) {
+                    claimed = true;
+                    if (bloomFilter == null && negativeCache.isBloomEnabled()) {
+                        bloomFilter = negativeCache.newFilter(run.rowCount());
+                    }
+                    long partitionQuota = coldQuota / run.partitions() + (partition < coldQuota % run.partitions() ? 1 : 0);
+                    PartitionWriter writer = warmPartition(run, partition, token, hot, partitionQuota, bloomFilter);
+                    written += writer.written;
+                    hotWritten += writer.hotWritten;
+                    state.partitionsDone(run.partitions() - coordinator.remainingPartitions(run).block());
+                }
+            }
+            if (!claimed) {
+                sleep(pollInterval);
+            }
+        }
+
+        long rate = entriesPerSecond(written, startedAt);
+        log.info("Wrote {} IBANs ({} hot) to Redis in {} ms ({} entries/s); warm-up run {} is complete",
+                written, hotWritten, Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), rate, run.generation());
+
+        if (negativeCache.isBloomEnabled()) {
+            IbanBloomFilter merged = negativeCache.newFilter(run.rowCount());
+            coordinator.mergeBloomFilter(run, merged).block();
+            negativeCache.publish(merged);
+        }
+        changeListener.replayFrom(run.snapshotAt());
+        state.completed();
+    }
+
+    private PartitionWriter warmPartition(IbanWarmupRun run, int partition, long token, Set<String> hot, long coldQuota,
+                                          IbanBloomFilter bloomFilter) {
+        IbanWarmupProgress progress = coordinator.progress(run, partition).block();
+        long limit = bloomFilter == null && hot.isEmpty() ? coldQuota : Long.MAX_VALUE;
+        if (progress.lastId() > run.partitionAfterId(partition)) {
+            log.info("Resuming warm-up partition {}/{} of run {} after id {}",
+                    partition + 1, run.partitions(), run.generation(), progress.lastId());
+        }
+
+        PartitionWriter writer = new PartitionWriter(run, partition, token, hot, coldQuota, progress, bloomFilter);
+        try {
+            repository.copyRange(run.partitionAfterId(partition), run.partitionUpToId(partition), limit, writer);
+            writer.finish();
+            if (!Boolean.TRUE.equals(coordinator.completePartition(run, partition, token, writer.progress(), bloomFilter,
+                    writer.bloomEntries).block())) {
+                throw new FencedOutException();
+            }
+        } catch (FencedOutException e) {
+            log.warn("Warm-up partition {}/{} of run {} was taken over by another replica, dropping it",
+                    partition + 1, run.partitions(), run.generation());
+            return writer;
+        }
+
+        log.info("Warmed partition {}/{} of run {}: {} IBANs ({} hot) at {} entries/s",
+                partition + 1, run.partitions(), run.generation(), writer.written, writer.hotWritten,
+                entriesPerSecond(writer.written, writer.startedAt));
+        return writer;
+    }
+
+    private Set<String> loadHotSet(long limit) {
+        try {
+            Set<String> hot = hotSet.load(limit).block();
+            return hot == null ? Set.of() : hot;
+        } catch (RuntimeException e) {
+            log.warn("Could not load the hot IBAN set, warming by id order: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for other warm-up partitions", e);
+        }
     }
 
-    private Mono<Void> saveToRedis(java.util.List<IbanDto> ibans) {
-        return Flux.fromIterable(ibans)
-                .flatMap(iban -> redis.opsForValue()
-                        .set(cacheKey(iban.iban()), iban.status().name(), cacheTtl))
-                .then();
+    private static long entriesPerSecond(long entries, long startedAt) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+        return entries * 1_000_000_000L / elapsedNanos;
     }
 
-    private static String cacheKey(String iban) {
-        return "iban:" + iban;
+    /**
+     * Collects the COPY rows of one partition into pages and writes each page to Redis, fenced by the partition's
+     * token, while the next one is read. At most one page is in flight, so the COPY stream waits for Redis instead
+     * of piling up rows. Progress is recorded after every page; rows up to a previously recorded id only feed the
+     * bloom filter. Hot IBANs are always written; other rows only until the cold quota is used up.
+     */
+    private final class PartitionWriter implements IbanRowHandler {
+
+        private final IbanWarmupRun run;
+        private final int partition;
+        private final long token;
+        private final IbanWriteFence fence;
+        private final Set<String> hot;
+        private final long coldQuota;
+        private final long resumeAfterId;
+        private final IbanBloomFilter bloomFilter;
+        private final long startedAt = System.nanoTime();
+        private List<IbanCacheEntry> page = new ArrayList<>(PAGE_SIZE);
+        private CompletableFuture<Boolean> pending;
+        private IbanWarmupProgress pendingProgress;
+        private int pendingSize;
+        private long lastId;
+        private long coldOffered;
+        private long pages;
+        private long written;
+        private long hotWritten;
+        private long bloomEntries;
+
+        private PartitionWriter(IbanWarmupRun run, int partition, long token, Set<String> hot, long coldQuota,
+                                IbanWarmupProgress progress, IbanBloomFilter bloomFilter) {
+            this.run = run;
+            this.partition = partition;
+            this.token = token;
+            this.fence = coordinator.fence(run, partition, token);
+            this.hot = hot;
+            this.coldQuota = coldQuota;
+            this.resumeAfterId = progress.lastId();
+            this.lastId = progress.lastId();
+            this.coldOffered = progress.coldWritten();
+            this.bloomFilter = bloomFilter;
+        }
+
+        @Override
+        public void accept(long id, CharSequence iban, IbanStatus status) {
+            if (bloomFilter != null) {
+                bloomFilter.put(iban);
+                bloomEntries++;
+            }
+            if (id <= resumeAfterId) {
+                return;
+            }
+            lastId = id;
+
+            String key = null;
+            if (!hot.isEmpty()) {
+                key = iban.toString();
+                if (hot.contains(key)) {
+                    hotWritten++;
+                    add(key, status);
+                    return;
+                }
+            }
+            if (coldOffered < coldQuota) {
+                coldOffered++;
+                add(key != null ? key : iban.toString(), status);
+            }
+        }
+
+        private IbanWarmupProgress progress() {
+            return new IbanWarmupProgress(lastId, coldOffered);
+        }
+
+        private void add(String iban, IbanStatus status) {
+            page.add(new IbanCacheEntry(iban, status.name(), cacheTtl.next()));
+            if (page.size() == PAGE_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            awaitPending();
+            pending = cacheStore.putAll(page, fence).toFuture();
+            pendingProgress = progress();
+            pendingSize = page.size();
+            page = new ArrayList<>(PAGE_SIZE);
+        }
+
+        private void finish() {
+            if (!page.isEmpty()) {
+                flush();
+            }
+            awaitPending();
+        }
+
+        private void awaitPending() {
+            if (pending == null) {
+                return;
+            }
+            boolean accepted = Boolean.TRUE.equals(pending.join());
+            pending = null;
+            if (!accepted || !Boolean.TRUE.equals(coordinator.recordProgress(run, partition, token, pendingProgress).block())) {
+                throw new FencedOutException();
+            }
+            written += pendingSize;
+            state.pageWritten(pendingSize);
+            log.info("Loaded page {} of partition {}/{} ({} entries/s)", ++pages, partition + 1, run.partitions(),
+                    entriesPerSecond(written, startedAt));
+        }
+    }
+
+    private static final class FencedOutException extends RuntimeException {
+
+        private FencedOutException() {
+            super(null, null, false, false);
+        }
     }
 }
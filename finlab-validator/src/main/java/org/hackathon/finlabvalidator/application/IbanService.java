@@ -1,46 +1,235 @@
 package org.hackathon.finlabvalidator.application;
 
+import org.hackathon.finlabvalidator.application.cache.IIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheEntry;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheHit;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheTtl;
+import org.hackathon.finlabvalidator.application.cache.IbanHedgePolicy;
+import org.hackathon.finlabvalidator.application.cache.IbanHotSet;
+import org.hackathon.finlabvalidator.application.cache.IbanLoadCoalescer;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupMetrics;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupMetrics.Tier;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupTimings;
+import org.hackathon.finlabvalidator.application.cache.IbanNearCache;
+import org.hackathon.finlabvalidator.application.cache.IbanNegativeCache;
+import org.hackathon.finlabvalidator.application.cache.IbanRefreshAhead;
+import org.hackathon.finlabvalidator.application.concurrency.ConcurrencyLimits;
+import org.hackathon.finlabvalidator.application.validation.IbanFormat;
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
 import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
-import org.hackathon.finlabvalidator.infrastructure.RedisConfig;
-import org.hackathon.finlabvalidator.persistence.repository.IIbanRepository;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.hackathon.finlabvalidator.persistence.repository.IReactiveIbanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class IbanService implements IAccountService {
-    private final IIbanRepository repository;
-    private final ReactiveStringRedisTemplate redis;
-    private final Duration cacheTtl;
+    private static final Logger log = LoggerFactory.getLogger(IbanService.class);
 
-    public IbanService(IIbanRepository repository,
-                       ReactiveStringRedisTemplate redis,
-                       RedisConfig redisConfig) {
+    private final IReactiveIbanRepository repository;
+    private final IIbanCacheStore cacheStore;
+    private final IbanNearCache nearCache;
+    private final IbanNegativeCache negativeCache;
+    private final IbanLoadCoalescer loadCoalescer;
+    private final IbanRefreshAhead refreshAhead;
+    private final IbanCacheTtl cacheTtl;
+    private final IbanHotSet hotSet;
+    private final IbanHedgePolicy hedgePolicy;
+    private final IbanLookupMetrics lookupMetrics;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public IbanService(IReactiveIbanRepository repository,
+                       IIbanCacheStore cacheStore,
+                       IbanNearCache nearCache,
+                       IbanNegativeCache negativeCache,
+                       IbanLoadCoalescer loadCoalescer,
+                       IbanRefreshAhead refreshAhead,
+                       IbanCacheTtl cacheTtl,
+                       IbanHotSet hotSet,
+                       IbanHedgePolicy hedgePolicy,
+                       IbanLookupMetrics lookupMetrics,
+                       ConcurrencyLimits concurrencyLimits) {
         this.repository = repository;
-        this.redis = redis;
-        this.cacheTtl = redisConfig.getDefaultTTL();
+        this.cacheStore = cacheStore;
+        this.nearCache = nearCache;
+        this.negativeCache = negativeCache;
+        this.loadCoalescer = loadCoalescer;
+        this.refreshAhead = refreshAhead;
+        this.cacheTtl = cacheTtl;
+        this.hotSet = hotSet;
+        this.hedgePolicy = hedgePolicy;
+        this.lookupMetrics = lookupMetrics;
+        this.concurrencyLimits = concurrencyLimits;
     }
 
     @Override
-    public Mono<IbanStatus> validate(String iban) {
-        String cacheKey = cacheKey(iban);
-
-        return redis.opsForValue().get(cacheKey)
-                .map(IbanStatus::valueOf)
-                .switchIfEmpty(
-                        Mono.fromCallable(() -> repository.findByIban(iban))
-                                .flatMap(optionalDto -> optionalDto
-                                        .map(dto -> redis.opsForValue()
-                                                .set(cacheKey, dto.status().name(), cacheTtl)
-                                                .thenReturn(dto.status()))
-                                        .orElse(Mono.empty())
-                                )
+    public Mono<IbanStatus> validate(String rawIban) {
+        String iban = IbanFormat.canonicalize(rawIban);
+        if (!IbanFormat.isValid(iban)) {
+            return Mono.empty();
+        }
+        return Mono.deferContextual(context -> lookup(iban, IbanLookupTimings.from(context)))
+                .doOnNext(status -> hotSet.record(iban))
+                .doOnSuccess(lookupMetrics::recordResult);
+    }
+
+    private Mono<IbanStatus> lookup(String iban, IbanLookupTimings timings) {
+        long startedAt = System.nanoTime();
+        IbanStatus nearCached = nearCache.get(iban);
+        lookupMetrics.record(timings, Tier.NEAR, nearCached != null ? "hit" : "miss", startedAt);
+        if (nearCached != null) {
+            return Mono.just(nearCached);
+        }
+
+        startedAt = System.nanoTime();
+        boolean unknown = negativeCache.isDefinitelyUnknown(iban);
+        lookupMetrics.record(timings, Tier.BLOOM, unknown ? "unknown" : "maybe", startedAt);
+        if (unknown) {
+            return Mono.empty();
+        }
+
+        Mono<String> cached = refreshAhead.isEnabled()
+                ? cacheStore.getWithTtl(iban)
+                        .doOnNext(hit -> refreshIfExpiring(iban, hit))
+                        .map(IbanCacheHit::value)
+                : cacheStore.get(iban);
+
+        Mono<Optional<IbanStatus>> redisLookup = lookupMetrics.time(Tier.REDIS, hedgePolicy.timed(cached),
+                        value -> negativeCache.isTombstone(value) ? "tombstone" : "hit", "miss")
+                .map(value -> negativeCache.isTombstone(value)
+                        ? Optional.<IbanStatus>empty()
+                        : Optional.of(IbanStatus.valueOf(value)));
+
+        // Only the Redis read is hedged; a Redis miss goes to the database once, through the coalescer
+        return hedgePolicy.hedge(redisLookup, () -> findInDatabase(iban))
+                .switchIfEmpty(Mono.defer(() -> {
+                    refreshAhead.recordMisses(1);
+                    return loadCoalescer.load(iban, () -> loadFromDatabase(iban));
+                }))
+                .flatMap(Mono::justOrEmpty)
+                .doOnNext(status -> nearCache.put(iban, status));
+    }
+
+    private void refreshIfExpiring(String iban, IbanCacheHit hit) {
+        if (IbanNegativeCache.TOMBSTONE.equals(hit.value()) || !refreshAhead.shouldRefresh(hit.ttlMillis())) {
+            return;
+        }
+        refreshAhead.recordRefresh();
+        loadCoalescer.load(iban, () -> loadFromDatabase(iban))
+                .subscribe(
+                        status -> { },
+                        e -> log.warn("Refresh-ahead of IBAN cache entry failed: {}", e.getMessage())
                 );
     }
 
-    private static String cacheKey(String iban) {
-        return "iban:" + iban;
+    private Mono<Optional<IbanStatus>> findInDatabase(String iban) {
+        return findByIban(iban)
+                .map(dto -> Optional.of(dto.status()))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Optional<IbanStatus>> loadFromDatabase(String iban) {
+        return findByIban(iban)
+                .flatMap(dto -> writeBack(cacheStore.put(iban, dto.status().name(), cacheTtl.next()))
+                        .thenReturn(Optional.of(dto.status())))
+                .switchIfEmpty(Mono.defer(() -> writeBack(
+                                cacheStore.put(iban, IbanNegativeCache.TOMBSTONE, negativeCache.getTombstoneTtl()))
+                        .thenReturn(Optional.<IbanStatus>empty())));
+    }
+
+    private Mono<IbanDto> findByIban(String iban) {
+        return lookupMetrics.time(Tier.DATABASE,
+                concurrencyLimits.limitDatabase(repository.findByIban(iban)), dto -> "found", "not-found");
+    }
+
+    private Mono<Void> writeBack(Mono<Void> write) {
+        return lookupMetrics.time(Tier.WRITE_BACK, write, v -> "ok", "ok");
+    }
+
+    @Override
+    public Mono<Map<String, IbanStatus>> validateAll(Collection<String> ibans) {
+        return lookupAll(ibans)
+                .doOnNext(statuses -> statuses.keySet().forEach(hotSet::record));
+    }
+
+    private Mono<Map<String, IbanStatus>> lookupAll(Collection<String> ibans) {
+        Map<String, IbanStatus> statuses = new HashMap<>();
+        List<String> pending = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String rawIban : ibans) {
+            String iban = IbanFormat.canonicalize(rawIban);
+            if (!IbanFormat.isValid(iban) || !seen.add(iban)) {
+                continue;
+            }
+            IbanStatus nearCached = nearCache.get(iban);
+            if (nearCached != null) {
+                statuses.put(iban, nearCached);
+            } else if (!negativeCache.isDefinitelyUnknown(iban)) {
+                pending.add(iban);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return Mono.just(statuses);
+        }
+
+        return lookupMetrics.time(Tier.REDIS, cacheStore.getAll(pending), values -> "batch", "batch")
+                .flatMap(cachedValues -> {
+                    List<String> misses = new ArrayList<>();
+                    for (int i = 0; i < pending.size(); i++) {
+                        String iban = pending.get(i);
+                        String cached = cachedValues.get(i);
+                        if (cached == null) {
+                            misses.add(iban);
+                        } else if (!negativeCache.isTombstone(cached)) {
+                            IbanStatus status = IbanStatus.valueOf(cached);
+                            statuses.put(iban, status);
+                            nearCache.put(iban, status);
+                        }
+                    }
+                    if (misses.isEmpty()) {
+                        return Mono.just(statuses);
+                    }
+                    refreshAhead.recordMisses(misses.size());
+                    return loadAllFromDatabase(misses, statuses);
+                });
+    }
+
+    private Mono<Map<String, IbanStatus>> loadAllFromDatabase(List<String> misses, Map<String, IbanStatus> statuses) {
+        Mono<List<IbanDto>> read = concurrencyLimits.limitDatabase(repository.findAllByIban(misses).collectList());
+        return lookupMetrics.time(Tier.DATABASE, read, dtos -> "batch", "batch")
+                .flatMap(found -> {
+                    Map<String, IbanStatus> loaded = new HashMap<>();
+                    for (IbanDto dto : found) {
+                        loaded.put(dto.iban(), dto.status());
+                    }
+
+                    List<IbanCacheEntry> writes = new ArrayList<>(misses.size());
+                    for (String iban : misses) {
+                        IbanStatus status = loaded.get(iban);
+                        if (status != null) {
+                            statuses.put(iban, status);
+                            nearCache.put(iban, status);
+                            writes.add(new IbanCacheEntry(iban, status.name(), cacheTtl.next()));
+                        } else {
+                            writes.add(new IbanCacheEntry(iban, IbanNegativeCache.TOMBSTONE, negativeCache.getTombstoneTtl()));
+                        }
+                    }
+
+                    return writeBack(cacheStore.putAll(writes))
+                            .then(Mono.just(statuses));
+                });
     }
+
 }
@@ -0,0 +1,60 @@
+package org.hackathon.finlabvalidator.application;
+
+import org.hackathon.finlabvalidator.application.concurrency.LoadSheddingException;
+import org.hackathon.finlabvalidator.application.validation.IbanFormat;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.hackathon.finlabvalidator.persistence.domain.IbanValidationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class IbanStreamService implements IIbanStreamService {
+
+    // A chunk shed by the database limit is retried rather than failing the whole stream; the stream's own
+    // concurrency already bounds how much it adds to the load
+    private static final int SHED_RETRIES = 10;
+    private static final Duration SHED_MIN_BACKOFF = Duration.ofMillis(50);
+    private static final Duration SHED_MAX_BACKOFF = Duration.ofSeconds(1);
+
+    private final IAccountService accountService;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public IbanStreamService(IAccountService accountService,
+                             @Value("${app.api.stream.chunk-size:500}") int chunkSize,
+                             @Value("${app.api.stream.concurrency:4}") int concurrency) {
+        this.accountService = accountService;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public Flux<IbanValidationResult> validate(Flux<String> ibans) {
+        return ibans
+                .buffer(chunkSize)
+                .flatMapSequential(chunk -> Mono.defer(() -> accountService.validateAll(chunk))
+                                .retryWhen(Retry.backoff(SHED_RETRIES, SHED_MIN_BACKOFF)
+                                        .maxBackoff(SHED_MAX_BACKOFF)
+                                        .filter(LoadSheddingException.class::isInstance)
+                                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                                .flatMapIterable(found -> toResults(chunk, found)),
+                        concurrency, chunkSize);
+    }
+
+    private static List<IbanValidationResult> toResults(List<String> chunk, Map<String, IbanStatus> found) {
+        List<IbanValidationResult> results = new ArrayList<>(chunk.size());
+        for (String iban : chunk) {
+            results.add(new IbanValidationResult(iban, found.get(IbanFormat.canonicalize(iban))));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,66 @@
+package org.hackathon.finlabvalidator.application;
+
+import org.hackathon.finlabvalidator.application.cache.IbanStatusIndex;
+import org.hackathon.finlabvalidator.application.cache.InMemoryIbanIndex;
+import org.hackathon.finlabvalidator.application.validation.IbanFormat;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "cache.iban.index.enabled", havingValue = "true")
+public class IndexedAccountService implements IAccountService {
+
+    private static final Map<IbanStatus, Mono<IbanStatus>> RESULTS = new EnumMap<>(IbanStatus.class);
+
+    static {
+        for (IbanStatus status : IbanStatus.values()) {
+            RESULTS.put(status, Mono.just(status));
+        }
+    }
+
+    private final InMemoryIbanIndex index;
+    private final IbanService fallback;
+
+    public IndexedAccountService(InMemoryIbanIndex index, IbanService fallback) {
+        this.index = index;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Mono<IbanStatus> validate(String iban) {
+        IbanStatusIndex snapshot = index.current();
+        if (snapshot == null) {
+            return fallback.validate(iban);
+        }
+
+        IbanStatus status = index.find(snapshot, IbanFormat.canonicalize(iban));
+        return status == null ? Mono.empty() : RESULTS.get(status);
+    }
+
+    @Override
+    public Mono<Map<String, IbanStatus>> validateAll(Collection<String> ibans) {
+        IbanStatusIndex snapshot = index.current();
+        if (snapshot == null) {
+            return fallback.validateAll(ibans);
+        }
+
+        Map<String, IbanStatus> statuses = new HashMap<>();
+        for (String rawIban : ibans) {
+            String iban = IbanFormat.canonicalize(rawIban);
+            IbanStatus status = index.find(snapshot, iban);
+            if (status != null) {
+                statuses.put(iban, status);
+            }
+        }
+        return Mono.just(statuses);
+    }
+}
@@ -27,6 +27,7 @@ public class StressTestResultService implements IStressTestResultService {
     private static final String SEPARATOR = ".";
     private static final double PERCENTAGE_DENOMINATOR = 100.0;
     private static final int INDEX_OFFSET = 1;
+    private static final double MILLIS_PER_SECOND = 1000.0;
     public static final String RESULTS_JTL = "-results.jtl";
 
     private final Path stressTestsPath;
@@ -126,6 +127,7 @@ public class StressTestResultService implements IStressTestResultService {
                 metrics.maxResponseTime(),
                 metrics.p90ResponseTime(),
                 metrics.p95ResponseTime(),
+                metrics.p99ResponseTime(),
                 metrics.throughput()
         );
     }
@@ -134,6 +136,8 @@ public class StressTestResultService implements IStressTestResultService {
         List<Long> responseTimes = new ArrayList<>();
         long successCount = 0;
         long failCount = 0;
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
 
         try (BufferedReader reader = Files.newBufferedReader(filePath)) {
             String line;
@@ -149,10 +153,13 @@ public class StressTestResultService implements IStressTestResultService {
                 if (fields.length < 8) continue;
 
                 try {
+                    long timestamp = Long.parseLong(fields[0]);
                     long elapsed = Long.parseLong(fields[1]);
                     boolean success = "true".equalsIgnoreCase(fields[7]);
 
                     responseTimes.add(elapsed);
+                    firstStart = Math.min(firstStart, timestamp);
+                    lastEnd = Math.max(lastEnd, timestamp + elapsed);
                     if (success) {
                         successCount++;
                     } else {
@@ -164,7 +171,8 @@ public class StressTestResultService implements IStressTestResultService {
             }
         }
 
-        return new SampleDataCollection(responseTimes, successCount, failCount);
+        long durationMillis = responseTimes.isEmpty() ? 0 : lastEnd - firstStart;
+        return new SampleDataCollection(responseTimes, successCount, failCount, durationMillis);
     }
 
     private TestMetrics calculateMetrics(SampleDataCollection samples) {
@@ -183,16 +191,19 @@ public class StressTestResultService implements IStressTestResultService {
         long maxResponseTime = responseTimes.isEmpty() ? 0 : responseTimes.get(responseTimes.size() - 1);
         long p90ResponseTime = getPercentile(responseTimes, 90);
         long p95ResponseTime = getPercentile(responseTimes, 95);
+        long p99ResponseTime = getPercentile(responseTimes, 99);
 
-        double throughput = 0.0;
+        double throughput = samples.durationMillis() > 0
+                ? Math.round(totalRequests * MILLIS_PER_SECOND / samples.durationMillis() * 100.0) / 100.0
+                : 0.0;
         double roundedErrorRate = Math.round(errorRate * 100.0) / 100.0;
 
         return new TestMetrics(totalRequests, successCount, failCount, roundedErrorRate,
                 avgResponseTime, minResponseTime, maxResponseTime,
-                p90ResponseTime, p95ResponseTime, throughput);
+                p90ResponseTime, p95ResponseTime, p99ResponseTime, throughput);
     }
 
-    private record SampleDataCollection(List<Long> responseTimes, long successCount, long failCount) {}
+    private record SampleDataCollection(List<Long> responseTimes, long successCount, long failCount, long durationMillis) {}
 
     private record TestMetrics(
             long totalRequests,
@@ -204,6 +215,7 @@ public class StressTestResultService implements IStressTestResultService {
             long maxResponseTime,
             long p90ResponseTime,
             long p95ResponseTime,
+            long p99ResponseTime,
             double throughput
     ) {}
 
@@ -0,0 +1,204 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HashIbanCacheStore implements IIbanCacheStore {
+
+    // Statuses and tombstones live in separate buckets so each bucket can carry a single TTL.
+    // Bucket sizes follow a Poisson spread around entries-per-bucket; the default of 64 keeps even the fullest
+    // buckets below hash-max-listpack-entries (128), and values are a single byte.
+    private static final String MISS = "";
+
+    // ARGV holds, per written bucket: its KEYS index, TTL in seconds, the KEYS index of the status bucket to delete the
+    // same fields from (0 for none), field count, then field/value pairs. A tombstone deletes its field from the
+    // status bucket, which READ_SCRIPT checks first, so a deleted or renamed IBAN does not keep its old status.
+    // Only a new bucket gets a TTL, so a field written into an existing bucket expires with it, never later than its
+    // own TTL but possibly much earlier; warm-ups rewrite whole buckets and refresh their TTL (FENCED_WRITE_SCRIPT).
+    private static final String WRITE_BUCKETS = """
+            local written = 0
+            while arg <= #ARGV do
+                local key = KEYS[tonumber(ARGV[arg])]
+                local ttl = ARGV[arg + 1]
+                local evictFrom = tonumber(ARGV[arg + 2])
+                local fields = tonumber(ARGV[arg + 3])
+                arg = arg + 4
+                for _ = 1, fields do
+                    redis.call('HSET', key, ARGV[arg], ARGV[arg + 1])
+                    if evictFrom > 0 then
+                        redis.call('HDEL', KEYS[evictFrom], ARGV[arg])
+                    end
+                    arg = arg + 2
+                end
+                %s
+                written = written + 1
+            end
+            return written
+            """;
+
+    private static final RedisScript<Long> WRITE_SCRIPT = RedisScript.of("local arg = 1\n"
+            + WRITE_BUCKETS.formatted("""
+                if redis.call('TTL', key) < 0 then
+                    redis.call('EXPIRE', key, ttl)
+                end"""), Long.class);
+
+    // Same as WRITE_SCRIPT, but KEYS[1] is the fence hash and ARGV[1] the fencing token; -1 means fenced out.
+    // Warm-up pages always refresh the bucket TTL, so fields written since the last warm-up live another full TTL.
+    private static final RedisScript<Long> FENCED_WRITE_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], '%s') ~= ARGV[1] then
+                return -1
+            end
+            local arg = 2
+            """.formatted(IbanWriteFence.TOKEN_FIELD)
+            + WRITE_BUCKETS.formatted("redis.call('EXPIRE', key, ttl)"), Long.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> READ_SCRIPT = (RedisScript) RedisScript.of("""
+            local values = {}
+            for i = 1, #ARGV do
+                values[i] = redis.call('HGET', KEYS[2 * i - 1], ARGV[i])
+                    or redis.call('HGET', KEYS[2 * i], ARGV[i])
+                    or ''
+            end
+            return values
+            """, List.class);
+
+    private static final Map<String, String> DECODED = new HashMap<>();
+
+    static {
+        for (IbanStatus status : IbanStatus.values()) {
+            DECODED.put(encode(status.name()), status.name());
+        }
+        DECODED.put(encode(IbanNegativeCache.TOMBSTONE), IbanNegativeCache.TOMBSTONE);
+    }
+
+    private final ReactiveStringRedisTemplate redis;
+    private final String keyPrefix;
+    private final int bucketCount;
+    private final int writeChunkSize;
+    private final int maxInFlightWrites;
+
+    public HashIbanCacheStore(ReactiveStringRedisTemplate redis, String keyPrefix, int bucketCount,
+                              int writeChunkSize, int maxInFlightWrites) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.bucketCount = bucketCount;
+        this.writeChunkSize = writeChunkSize;
+        this.maxInFlightWrites = maxInFlightWrites;
+    }
+
+    @Override
+    public Mono<String> get(String iban) {
+        return getAll(List.of(iban))
+                .flatMap(values -> Mono.justOrEmpty(values.get(0)));
+    }
+
+    // Refreshing a single field cannot extend its bucket's TTL, so no refresh-ahead for this layout
+    @Override
+    public Mono<IbanCacheHit> getWithTtl(String iban) {
+        return get(iban).map(value -> new IbanCacheHit(value, IbanCacheHit.UNKNOWN_TTL));
+    }
+
+    @Override
+    public Mono<List<String>> getAll(List<String> ibans) {
+        List<String> keys = new ArrayList<>(ibans.size() * 2);
+        for (String iban : ibans) {
+            keys.add(bucketKey(iban, false));
+            keys.add(bucketKey(iban, true));
+        }
+
+        return redis.execute(READ_SCRIPT, keys, ibans)
+                .next()
+                .map(encoded -> {
+                    List<String> values = new ArrayList<>(encoded.size());
+                    for (String value : encoded) {
+                        values.add(value == null || MISS.equals(value) ? null : DECODED.get(value));
+                    }
+                    return values;
+                });
+    }
+
+    @Override
+    public Mono<Void> put(String iban, String value, Duration ttl) {
+        return putAll(List.of(new IbanCacheEntry(iban, value, ttl)));
+    }
+
+    @Override
+    public Mono<Void> putAll(List<IbanCacheEntry> entries) {
+        return Flux.fromIterable(entries)
+                .buffer(writeChunkSize)
+                .flatMap(chunk -> writeChunk(chunk, null), maxInFlightWrites)
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence) {
+        return Flux.fromIterable(entries)
+                .buffer(writeChunkSize)
+                .flatMap(chunk -> writeChunk(chunk, fence), maxInFlightWrites)
+                .all(written -> written >= 0);
+    }
+
+    @Override
+    public String keyPattern() {
+        return IbanCacheKeys.pattern(keyPrefix);
+    }
+
+    private Mono<Long> writeChunk(List<IbanCacheEntry> chunk, IbanWriteFence fence) {
+        Map<String, List<IbanCacheEntry>> entriesByBucket = new LinkedHashMap<>();
+        for (IbanCacheEntry entry : chunk) {
+            boolean tombstone = IbanNegativeCache.TOMBSTONE.equals(entry.value());
+            entriesByBucket.computeIfAbsent(bucketKey(entry.iban(), tombstone), bucket -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        List<String> keys = new ArrayList<>(entriesByBucket.size() * 2 + 1);
+        List<String> args = new ArrayList<>(chunk.size() * 2 + entriesByBucket.size() * 4 + 1);
+        if (fence != null) {
+            keys.add(fence.key());
+            args.add(Long.toString(fence.token()));
+        }
+        Map<String, Integer> keyIndexes = new HashMap<>();
+        for (Map.Entry<String, List<IbanCacheEntry>> bucket : entriesByBucket.entrySet()) {
+            List<IbanCacheEntry> bucketEntries = bucket.getValue();
+            IbanCacheEntry first = bucketEntries.get(0);
+            boolean tombstone = IbanNegativeCache.TOMBSTONE.equals(first.value());
+            args.add(Integer.toString(keyIndex(keys, keyIndexes, bucket.getKey())));
+            args.add(Long.toString(Math.max(1, first.ttl().toSeconds())));
+            args.add(tombstone ? Integer.toString(keyIndex(keys, keyIndexes, bucketKey(first.iban(), false))) : "0");
+            args.add(Integer.toString(bucketEntries.size()));
+            for (IbanCacheEntry entry : bucketEntries) {
+                args.add(entry.iban());
+                args.add(encode(entry.value()));
+            }
+        }
+
+        return redis.execute(fence != null ? FENCED_WRITE_SCRIPT : WRITE_SCRIPT, keys, args).next();
+    }
+
+    // Lua indexes KEYS from 1
+    private static int keyIndex(List<String> keys, Map<String, Integer> keyIndexes, String key) {
+        return keyIndexes.computeIfAbsent(key, k -> {
+            keys.add(k);
+            return keys.size();
+        });
+    }
+
+    private String bucketKey(String iban, boolean tombstone) {
+        return IbanCacheKeys.bucketKey(keyPrefix, bucketCount, iban, tombstone);
+    }
+
+    private static String encode(String value) {
+        return value.substring(0, 1);
+    }
+}
@@ -0,0 +1,16 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface IIbanCacheStore {
+    Mono<String> get(String iban);
+    Mono<IbanCacheHit> getWithTtl(String iban);
+    Mono<List<String>> getAll(List<String> ibans);
+    Mono<Void> put(String iban, String value, Duration ttl);
+    Mono<Void> putAll(List<IbanCacheEntry> entries);
+    Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence);
+    String keyPattern();
+}
@@ -0,0 +1,101 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class IbanBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private IbanBloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+    }
+
+    public static IbanBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new IbanBloomFilter(Math.max(64, m), k);
+    }
+
+    public void put(CharSequence iban) {
+        long hash = IbanHashing.hash64(iban);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(CharSequence iban) {
+        long hash = IbanHashing.hash64(iban);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length() * Long.BYTES);
+        for (int i = 0; i < bits.length(); i++) {
+            buffer.putLong(bits.get(i));
+        }
+        return buffer.array();
+    }
+
+    // Adds every IBAN of a filter created with the same parameters, e.g. one built from another id range
+    public void merge(byte[] otherBits, long otherInsertions) {
+        merge(ByteBuffer.wrap(otherBits), otherInsertions);
+    }
+
+    public void merge(ByteBuffer otherBits, long otherInsertions) {
+        if (otherBits.remaining() != bits.length() * Long.BYTES) {
+            throw new IllegalArgumentException("Bloom filter sizes differ: " + otherBits.remaining() + " vs "
+                    + bits.length() * Long.BYTES + " bytes");
+        }
+        ByteBuffer buffer = otherBits.duplicate();
+        for (int i = 0; i < bits.length(); i++) {
+            long other = buffer.getLong();
+            long current = bits.get(i);
+            while ((current | other) != current && !bits.compareAndSet(i, current, current | other)) {
+                current = bits.get(i);
+            }
+        }
+        insertions.addAndGet(otherInsertions);
+    }
+
+    public double expectedFalsePositiveRate() {
+        double fillRatio = 1 - Math.exp(-(double) hashCount * insertions.get() / bitCount);
+        return Math.pow(fillRatio, hashCount);
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+}
@@ -0,0 +1,9 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import java.time.Duration;
+
+public record IbanCacheEntry(
+        String iban,
+        String value,
+        Duration ttl
+) {}
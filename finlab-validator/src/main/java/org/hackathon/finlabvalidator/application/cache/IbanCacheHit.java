@@ -0,0 +1,6 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+public record IbanCacheHit(String value, long ttlMillis) {
+
+    public static final long UNKNOWN_TTL = -1;
+}
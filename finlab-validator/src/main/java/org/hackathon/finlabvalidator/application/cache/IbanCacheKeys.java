@@ -0,0 +1,33 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+/**
+ * Redis key names used by the validator. Both cache layouts build their entry keys here so
+ * that the service, the warmer and the benchmarks agree on the canonical form.
+ */
+public final class IbanCacheKeys {
+
+    public static final String PREFIX = "iban:";
+    public static final String HASH_PREFIX = "ibanh:";
+    public static final String MEASUREMENT_PREFIX = "iban-measure:";
+    public static final String HOT_SET = "iban-hot";
+    public static final String HOT_SET_DECAY = "iban-hot:decay";
+    public static final String WARMUP_PREFIX = "iban-warmup:";
+
+    private static final String TOMBSTONE_BUCKET = "u:";
+
+    private IbanCacheKeys() {
+    }
+
+    public static String key(String prefix, String iban) {
+        return prefix + iban;
+    }
+
+    public static String bucketKey(String prefix, int bucketCount, String iban, boolean tombstone) {
+        int bucket = Math.floorMod(iban.hashCode(), bucketCount);
+        return tombstone ? prefix + TOMBSTONE_BUCKET + bucket : prefix + bucket;
+    }
+
+    public static String pattern(String prefix) {
+        return prefix + "*";
+    }
+}
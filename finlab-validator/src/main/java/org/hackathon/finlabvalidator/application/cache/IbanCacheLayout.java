@@ -0,0 +1,26 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+public enum IbanCacheLayout {
+    STRING,
+    HASH;
+
+    public IIbanCacheStore createStore(ReactiveStringRedisTemplate redis, String keyPrefix,
+                                       long expectedEntries, int entriesPerBucket,
+                                       int writeChunkSize, int maxInFlightWrites) {
+        return switch (this) {
+            case STRING -> new StringIbanCacheStore(redis, keyPrefix, writeChunkSize, maxInFlightWrites);
+            case HASH -> new HashIbanCacheStore(redis, keyPrefix,
+                    (int) Math.max(1, (expectedEntries + entriesPerBucket - 1) / entriesPerBucket),
+                    writeChunkSize, maxInFlightWrites);
+        };
+    }
+
+    public String defaultKeyPrefix() {
+        return switch (this) {
+            case STRING -> IbanCacheKeys.PREFIX;
+            case HASH -> IbanCacheKeys.HASH_PREFIX;
+        };
+    }
+}
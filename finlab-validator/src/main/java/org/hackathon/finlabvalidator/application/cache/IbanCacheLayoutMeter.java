@@ -0,0 +1,126 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class IbanCacheLayoutMeter {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanCacheLayoutMeter.class);
+    private static final Duration SAMPLE_TTL = Duration.ofMinutes(5);
+    private static final int WRITE_CHUNK_SIZE = 1000;
+    private static final int MAX_IN_FLIGHT_WRITES = 2;
+    private static final int SCAN_CHUNK_SIZE = 500;
+
+    private static final RedisScript<Long> MEMORY_USAGE_SCRIPT = RedisScript.of("""
+            local total = 0
+            for _, key in ipairs(KEYS) do
+                total = total + (redis.call('MEMORY', 'USAGE', key, 'SAMPLES', '0') or 0)
+            end
+            return total
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final boolean enabled;
+    private final int sampleSize;
+    private final int entriesPerBucket;
+    private final Map<IbanCacheLayout, AtomicLong> bytesPerEntry = new EnumMap<>(IbanCacheLayout.class);
+
+    public IbanCacheLayoutMeter(ReactiveStringRedisTemplate redis,
+                                MeterRegistry meterRegistry,
+                                @Value("${cache.iban.measure.enabled:false}") boolean enabled,
+                                @Value("${cache.iban.measure.sample-size:10000}") int sampleSize,
+                                @Value("${cache.iban.hash.entries-per-bucket:100}") int entriesPerBucket) {
+        this.redis = redis;
+        this.enabled = enabled;
+        this.sampleSize = sampleSize;
+        this.entriesPerBucket = entriesPerBucket;
+
+        for (IbanCacheLayout layout : IbanCacheLayout.values()) {
+            AtomicLong value = new AtomicLong();
+            bytesPerEntry.put(layout, value);
+            Gauge.builder("iban.cache.bytes.per.entry", value, AtomicLong::get)
+                    .tag("layout", layout.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void measureOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        Flux.fromArray(IbanCacheLayout.values())
+                .concatMap(this::measure)
+                .subscribe(
+                        v -> { },
+                        e -> log.error("IBAN cache layout measurement failed", e)
+                );
+    }
+
+    public Mono<Long> measure(IbanCacheLayout layout) {
+        IIbanCacheStore store = layout.createStore(redis,
+                IbanCacheKeys.MEASUREMENT_PREFIX + layout.name().toLowerCase(Locale.ROOT) + ":",
+                sampleSize, entriesPerBucket, WRITE_CHUNK_SIZE, MAX_IN_FLIGHT_WRITES);
+
+        return deleteKeys(store)
+                .then(Flux.range(0, sampleSize)
+                        .map(IbanCacheLayoutMeter::sampleEntry)
+                        .buffer(WRITE_CHUNK_SIZE)
+                        .concatMap(store::putAll)
+                        .then())
+                .then(memoryUsage(store))
+                .map(totalBytes -> totalBytes / sampleSize)
+                .doOnNext(bytes -> {
+                    bytesPerEntry.get(layout).set(bytes);
+                    log.info("IBAN cache layout {}: {} bytes per entry over {} sample entries",
+                            layout, bytes, sampleSize);
+                })
+                .flatMap(bytes -> deleteKeys(store).thenReturn(bytes));
+    }
+
+    private Mono<Long> memoryUsage(IIbanCacheStore store) {
+        return scanKeys(store)
+                .buffer(SCAN_CHUNK_SIZE)
+                .concatMap(keys -> redis.execute(MEMORY_USAGE_SCRIPT, keys))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Void> deleteKeys(IIbanCacheStore store) {
+        return scanKeys(store)
+                .buffer(SCAN_CHUNK_SIZE)
+                .concatMap(keys -> redis.delete(keys.toArray(String[]::new)))
+                .then();
+    }
+
+    private Flux<String> scanKeys(IIbanCacheStore store) {
+        return redis.scan(ScanOptions.scanOptions().match(store.keyPattern()).count(SCAN_CHUNK_SIZE).build());
+    }
+
+    private static IbanCacheEntry sampleEntry(int i) {
+        String iban = String.format("BG%02dBANK%014d", i % 97, (long) i * 7_919);
+        IbanStatus status = IbanStatus.values()[i % IbanStatus.values().length];
+        return new IbanCacheEntry(iban, status.name(), SAMPLE_TTL);
+    }
+}
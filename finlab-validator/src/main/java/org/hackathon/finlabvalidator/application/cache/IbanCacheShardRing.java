@@ -0,0 +1,48 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent-hash ring that maps an IBAN to one of the configured cache nodes. Every node is placed on the ring
+ * {@value #VIRTUAL_NODES} times, so keys spread evenly and adding or removing a node only moves the keys of its
+ * own ring segments. Points depend only on the node names, so every replica routes a key to the same node.
+ */
+public final class IbanCacheShardRing {
+
+    static final int VIRTUAL_NODES = 160;
+
+    private final long[] points;
+    private final int[] shards;
+
+    public IbanCacheShardRing(List<String> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one cache node is required");
+        }
+
+        int size = nodes.size() * VIRTUAL_NODES;
+        long[][] entries = new long[size][];
+        for (int shard = 0; shard < nodes.size(); shard++) {
+            for (int replica = 0; replica < VIRTUAL_NODES; replica++) {
+                long point = IbanHashing.hash64(nodes.get(shard) + "#" + replica);
+                entries[shard * VIRTUAL_NODES + replica] = new long[]{point, shard};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.points = new long[size];
+        this.shards = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            shards[i] = (int) entries[i][1];
+        }
+    }
+
+    public int shardFor(CharSequence iban) {
+        int index = Arrays.binarySearch(points, IbanHashing.hash64(iban));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return shards[index == points.length ? 0 : index];
+    }
+}
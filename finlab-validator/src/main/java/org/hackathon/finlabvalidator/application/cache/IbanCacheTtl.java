@@ -0,0 +1,32 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.hackathon.finlabvalidator.infrastructure.RedisConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads IBAN cache TTLs over {@code [ttl, ttl * (1 + jitter)]}, so entries written together by a warm-up
+ * do not all expire in the same window.
+ */
+@Component
+public class IbanCacheTtl {
+
+    private final Duration baseTtl;
+    private final long spreadMillis;
+
+    public IbanCacheTtl(RedisConfig redisConfig,
+                        @Value("${cache.iban.ttl-jitter:0.2}") double jitter) {
+        this.baseTtl = redisConfig.getDefaultTTL();
+        this.spreadMillis = (long) (baseTtl.toMillis() * Math.max(0, jitter));
+    }
+
+    public Duration next() {
+        if (spreadMillis == 0) {
+            return baseTtl;
+        }
+        return baseTtl.plusMillis(ThreadLocalRandom.current().nextLong(spreadMillis + 1));
+    }
+}
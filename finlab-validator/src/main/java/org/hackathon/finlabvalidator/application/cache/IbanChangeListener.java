@@ -0,0 +1,238 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hackathon.finlabvalidator.persistence.domain.IbanChange;
+import org.hackathon.finlabvalidator.persistence.repository.IIbanRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies rows changed in the {@code iban} table to Redis, the near-cache, the bloom filter and the in-memory index.
+ * Changes arrive through {@code LISTEN iban_changes}; after every (re)connect the rows updated since the last seen
+ * {@code updated_at} are read again, so notifications missed while disconnected are not lost. Deleted rows and the old
+ * key of a renamed IBAN are tombstoned; the catch-up cannot see those, so one missed while disconnected stays cached
+ * until its TTL expires.
+ */
+@Component
+public class IbanChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanChangeListener.class);
+    public static final String CHANNEL = "iban_changes";
+    private static final int CATCH_UP_PAGE_SIZE = 1000;
+    private static final long NO_REPLAY = Long.MAX_VALUE;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final DataSource dataSource;
+    private final IIbanRepository repository;
+    private final IIbanCacheStore cacheStore;
+    private final IbanNearCache nearCache;
+    private final IbanNegativeCache negativeCache;
+    private final InMemoryIbanIndex index;
+    private final ObjectMapper objectMapper;
+    private final IbanCacheTtl cacheTtl;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final long catchUpOverlap;
+    private final Counter notifiedChanges;
+    private final Counter caughtUpChanges;
+    private final AtomicLong watermark = new AtomicLong(-1);
+    private final AtomicLong replayFrom = new AtomicLong(NO_REPLAY);
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public IbanChangeListener(DataSource dataSource,
+                              IIbanRepository repository,
+                              IIbanCacheStore cacheStore,
+                              IbanNearCache nearCache,
+                              IbanNegativeCache negativeCache,
+                              InMemoryIbanIndex index,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              IbanCacheTtl cacheTtl,
+                              @Value("${cache.iban.sync.enabled:true}") boolean enabled,
+                              @Value("${cache.iban.sync.poll-interval:1s}") Duration pollInterval,
+                              @Value("${cache.iban.sync.catch-up-overlap:1m}") Duration catchUpOverlap) {
+        this.dataSource = dataSource;
+        this.repository = repository;
+        this.cacheStore = cacheStore;
+        this.nearCache = nearCache;
+        this.negativeCache = negativeCache;
+        this.index = index;
+        this.objectMapper = objectMapper;
+        this.cacheTtl = cacheTtl;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.catchUpOverlap = catchUpOverlap.toNanos() / 1000;
+        this.notifiedChanges = Counter.builder("iban.sync.changes")
+                .tag("source", "notify")
+                .register(meterRegistry);
+        this.caughtUpChanges = Counter.builder("iban.sync.changes")
+                .tag("source", "catch-up")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("IBAN change sync is disabled");
+            return;
+        }
+
+        running = true;
+        long snapshotWatermark = index.snapshotWatermark();
+        if (snapshotWatermark >= 0) {
+            replayFrom(snapshotWatermark);
+        }
+        listenerThread = Thread.ofPlatform()
+                .name("iban-change-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Re-reads every row updated after {@code updatedAt} (epoch microseconds) on the listener thread, e.g. after a
+     * full warm-up wrote a snapshot older than changes that were already applied.
+     */
+    public void replayFrom(long updatedAt) {
+        if (running) {
+            replayFrom.accumulateAndGet(updatedAt, Math::min);
+        }
+    }
+
+    private void listen() {
+        long backoffMillis = pollInterval.toMillis();
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                watermark.compareAndSet(-1, repository.currentTimestamp());
+                log.info("Listening for IBAN changes on '{}'", CHANNEL);
+                catchUp(watermark.get() - catchUpOverlap);
+                backoffMillis = pollInterval.toMillis();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        apply(parse(notifications), notifiedChanges);
+                    }
+                    long from = replayFrom.getAndSet(NO_REPLAY);
+                    if (from != NO_REPLAY) {
+                        catchUp(from - catchUpOverlap);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("IBAN change listener failed, reconnecting in {} ms: {}", backoffMillis, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private void catchUp(long updatedAfter) {
+        long updatedAt = updatedAfter;
+        long lastId = 0;
+        long applied = 0;
+        List<IbanChange> page;
+        do {
+            page = repository.findChangedAfter(updatedAt, lastId, CATCH_UP_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            apply(page, caughtUpChanges);
+            applied += page.size();
+            IbanChange last = page.get(page.size() - 1);
+            updatedAt = last.updatedAt();
+            lastId = last.id();
+        } while (page.size() == CATCH_UP_PAGE_SIZE);
+
+        if (applied > 0) {
+            log.info("Caught up on {} IBAN changes", applied);
+        }
+    }
+
+    private List<IbanChange> parse(PGNotification[] notifications) {
+        List<IbanChange> changes = new ArrayList<>(notifications.length);
+        for (PGNotification notification : notifications) {
+            try {
+                changes.add(objectMapper.readValue(notification.getParameter(), IbanChange.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring malformed IBAN change notification '{}': {}", notification.getParameter(), e.getMessage());
+            }
+        }
+        return changes;
+    }
+
+    private void apply(List<IbanChange> changes, Counter counter) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        List<IbanCacheEntry> writes = new ArrayList<>(changes.size());
+        List<String> ibans = new ArrayList<>(changes.size());
+        for (IbanChange change : changes) {
+            if (change.previousIban() != null) {
+                writes.add(tombstone(change.previousIban()));
+                ibans.add(change.previousIban());
+            }
+            writes.add(change.isDeleted()
+                    ? tombstone(change.iban())
+                    : new IbanCacheEntry(change.iban(), change.status().name(), cacheTtl.next()));
+            ibans.add(change.iban());
+        }
+        cacheStore.putAll(writes).block();
+        // Every replica applies every change, so each one evicts only its own near-cache
+        nearCache.evict(ibans);
+
+        for (IbanChange change : changes) {
+            if (change.previousIban() != null) {
+                index.apply(change.previousIban(), null);
+            }
+            if (!change.isDeleted()) {
+                negativeCache.recordKnown(change.iban());
+            }
+            index.apply(change.iban(), change.status());
+            watermark.accumulateAndGet(change.updatedAt(), Math::max);
+        }
+        counter.increment(changes.size());
+    }
+
+    private IbanCacheEntry tombstone(String iban) {
+        return new IbanCacheEntry(iban, IbanNegativeCache.TOMBSTONE, negativeCache.getTombstoneTtl());
+    }
+}
@@ -0,0 +1,147 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch with conservative update plus a top-K list of the most frequent IBANs.
+ * Estimates never undercount; the top-K list keeps up to {@code capacity} IBANs and is pruned back to
+ * {@code capacity} on {@code pruner} whenever it grows a quarter beyond it, so recording never sorts on the caller's
+ * thread. While a prune is pending, the list stops admitting new IBANs at twice the capacity.
+ */
+public final class IbanFrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int COUNTERS_PER_ENTRY = 4;
+
+    private final AtomicIntegerArray counters;
+    private final int widthMask;
+    private final int capacity;
+    private final int pruneAbove;
+    private final int admitBelow;
+    private final Executor pruner;
+    private final Map<String, Integer> heavyHitters = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruneScheduled = new AtomicBoolean();
+    private volatile int admissionThreshold;
+
+    private IbanFrequencySketch(int width, int capacity, Executor pruner) {
+        this.counters = new AtomicIntegerArray(width * DEPTH);
+        this.widthMask = width - 1;
+        this.capacity = capacity;
+        this.pruneAbove = capacity + (capacity >> 2);
+        this.admitBelow = capacity * 2;
+        this.pruner = pruner;
+    }
+
+    public static IbanFrequencySketch create(int capacity) {
+        return create(capacity, ForkJoinPool.commonPool());
+    }
+
+    public static IbanFrequencySketch create(int capacity, Executor pruner) {
+        int width = Integer.highestOneBit(Math.max(64, capacity * COUNTERS_PER_ENTRY - 1)) << 1;
+        return new IbanFrequencySketch(width, Math.max(1, capacity), pruner);
+    }
+
+    public int record(String iban) {
+        long hash = IbanHashing.hash64(iban);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(slot(row, h1, h2)));
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            int slot = slot(row, h1, h2);
+            int current = counters.get(slot);
+            while (current == min && !counters.compareAndSet(slot, current, current + 1)) {
+                current = counters.get(slot);
+            }
+        }
+
+        int estimate = min + 1;
+        int size = heavyHitters.size();
+        if (estimate > admissionThreshold || size < capacity) {
+            if (size < admitBelow) {
+                heavyHitters.put(iban, estimate);
+            } else {
+                heavyHitters.replace(iban, estimate);
+            }
+            if (size >= pruneAbove) {
+                schedulePrune();
+            }
+        }
+        return estimate;
+    }
+
+    public int estimate(CharSequence iban) {
+        long hash = IbanHashing.hash64(iban);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(slot(row, h1, h2)));
+        }
+        return min;
+    }
+
+    public Map<String, Integer> topK() {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : sortedHeavyHitters()) {
+            if (top.size() == capacity) {
+                break;
+            }
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    public long sizeInBytes() {
+        return (long) counters.length() * Integer.BYTES;
+    }
+
+    private void schedulePrune() {
+        if (!pruneScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pruner.execute(this::prune);
+        } catch (RejectedExecutionException e) {
+            pruneScheduled.set(false);
+        }
+    }
+
+    private void prune() {
+        try {
+            if (heavyHitters.size() <= pruneAbove) {
+                return;
+            }
+            List<Map.Entry<String, Integer>> sorted = sortedHeavyHitters();
+            admissionThreshold = sorted.get(capacity - 1).getValue();
+            for (Map.Entry<String, Integer> evicted : sorted.subList(capacity, sorted.size())) {
+                heavyHitters.remove(evicted.getKey(), evicted.getValue());
+            }
+        } finally {
+            pruneScheduled.set(false);
+        }
+    }
+
+    private List<Map.Entry<String, Integer>> sortedHeavyHitters() {
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(heavyHitters.size());
+        heavyHitters.forEach((iban, count) -> sorted.add(Map.entry(iban, count)));
+        sorted.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return sorted;
+    }
+
+    private int slot(int row, int h1, int h2) {
+        return row * (widthMask + 1) + ((h1 + row * h2) & widthMask);
+    }
+}
@@ -0,0 +1,26 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+/**
+ * 64-bit FNV-1a over the characters, finished with the MurmurHash3 fmix64 step so that IBANs differing only in their
+ * last digits still spread over all bits. Shared by the bloom filter, the frequency sketch and the shard ring.
+ */
+final class IbanHashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private IbanHashing() {
+    }
+
+    static long hash64(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
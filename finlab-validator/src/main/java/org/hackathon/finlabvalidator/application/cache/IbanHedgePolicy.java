@@ -0,0 +1,160 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hedges Redis lookups with a PostgreSQL lookup. The hedge delay is the configured percentile of recent Redis read
+ * latencies, clamped to {@code [min-delay, max-delay]}; when a lookup is still waiting for Redis after that delay
+ * the backup lookup is started and whichever answers first wins. Hedges draw from a budget that is refilled by
+ * {@code budget} per lookup, so a Redis stall adds at most that share of lookups to the database load.
+ */
+@Component
+public class IbanHedgePolicy {
+
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_EVERY = 256;
+    private static final long CREDIT = 1_000_000;
+    private static final long MAX_CREDITS = 10 * CREDIT;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long creditPerLookup;
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong credits = new AtomicLong(MAX_CREDITS);
+    private final Counter lookups;
+    private final Counter hedges;
+    private final Counter budgetExhausted;
+    private final Counter redisWins;
+    private final Counter databaseWins;
+    private volatile long delayNanos;
+
+    public IbanHedgePolicy(MeterRegistry meterRegistry,
+                           @Value("${cache.iban.hedge.enabled:false}") boolean enabled,
+                           @Value("${cache.iban.hedge.percentile:0.95}") double percentile,
+                           @Value("${cache.iban.hedge.min-delay:2ms}") Duration minDelay,
+                           @Value("${cache.iban.hedge.max-delay:50ms}") Duration maxDelay,
+                           @Value("${cache.iban.hedge.budget:0.05}") double budget) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.creditPerLookup = (long) (budget * CREDIT);
+        this.delayNanos = maxDelayNanos;
+        this.lookups = Counter.builder("iban.hedge.lookups")
+                .register(meterRegistry);
+        this.hedges = Counter.builder("iban.hedge.fired")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("iban.hedge.budget.exhausted")
+                .register(meterRegistry);
+        this.redisWins = Counter.builder("iban.hedge.wins")
+                .tag("tier", "redis")
+                .register(meterRegistry);
+        this.databaseWins = Counter.builder("iban.hedge.wins")
+                .tag("tier", "database")
+                .register(meterRegistry);
+        Gauge.builder("iban.hedge.delay.ms", this, policy -> policy.delayNanos / 1_000_000.0)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration delay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * Records how long {@code redisRead} takes to complete, feeding the hedge delay. Reads cancelled because a hedge
+     * won are recorded with the time they had waited so far, so slow reads are not dropped from the percentile.
+     */
+    public <T> Mono<T> timed(Mono<T> redisRead) {
+        if (!enabled) {
+            return redisRead;
+        }
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return redisRead.doFinally(signal -> record(System.nanoTime() - startedAt));
+        });
+    }
+
+    /**
+     * Returns {@code primary}, racing it against {@code backup} once it has not answered within the hedge delay
+     * and the budget allows another hedge. A failing backup never wins; the primary's result or error decides.
+     */
+    public <T> Mono<T> hedge(Mono<T> primary, Supplier<Mono<T>> backup) {
+        if (!enabled) {
+            return primary;
+        }
+        return Mono.defer(() -> {
+            lookups.increment();
+            credits.getAndUpdate(current -> Math.min(MAX_CREDITS, current + creditPerLookup));
+            AtomicBoolean fired = new AtomicBoolean();
+
+            Mono<T> hedge = Mono.delay(delay())
+                    .flatMap(tick -> {
+                        if (!tryAcquire()) {
+                            budgetExhausted.increment();
+                            return Mono.<T>never();
+                        }
+                        fired.set(true);
+                        hedges.increment();
+                        return backup.get()
+                                .doOnNext(value -> databaseWins.increment())
+                                .onErrorResume(e -> Mono.never());
+                    });
+
+            return Mono.firstWithSignal(
+                    primary.doOnNext(value -> {
+                        if (fired.get()) {
+                            redisWins.increment();
+                        }
+                    }),
+                    hedge);
+        });
+    }
+
+    private boolean tryAcquire() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < CREDIT) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - CREDIT));
+        return true;
+    }
+
+    private void record(long latencyNanos) {
+        long count = recorded.getAndIncrement();
+        latencies.set((int) (count % SAMPLES), latencyNanos);
+        if ((count + 1) % RECOMPUTE_EVERY == 0) {
+            recomputeDelay(Math.min(count + 1, SAMPLES));
+        }
+    }
+
+    private void recomputeDelay(long samples) {
+        long[] sorted = new long[(int) samples];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, sorted[Math.max(0, rank)]));
+    }
+}
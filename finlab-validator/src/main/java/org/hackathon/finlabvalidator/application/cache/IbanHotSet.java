@@ -0,0 +1,128 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Learns which IBANs are requested most. Each interval's lookups are counted in a local {@link IbanFrequencySketch};
+ * its top-K is then added to the shared {@code iban-hot} sorted set, which every replica contributes to and which is
+ * decayed once per interval so that IBANs nobody asks for any more drop out.
+ */
+@Component
+public class IbanHotSet {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanHotSet.class);
+    private static final int WRITE_CHUNK_SIZE = 1000;
+
+    // KEYS[1] hot set, KEYS[2] decay marker; ARGV[1] decay factor, ARGV[2] interval in ms
+    private static final RedisScript<Long> DECAY_SCRIPT = RedisScript.of("""
+            if redis.call('SET', KEYS[2], '1', 'NX', 'PX', ARGV[2]) then
+                redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', ARGV[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            for i = 1, #ARGV, 2 do
+                redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i])
+            end
+            return #ARGV / 2
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final boolean enabled;
+    private final int capacity;
+    private final double decay;
+    private final Duration persistInterval;
+    private final AtomicReference<IbanFrequencySketch> sketch = new AtomicReference<>();
+    private final AtomicLong lastPersisted = new AtomicLong();
+
+    public IbanHotSet(ReactiveStringRedisTemplate redis,
+                      MeterRegistry meterRegistry,
+                      @Value("${cache.iban.hot-set.enabled:true}") boolean enabled,
+                      @Value("${cache.iban.hot-set.capacity:100000}") int capacity,
+                      @Value("${cache.iban.hot-set.decay:0.5}") double decay,
+                      @Value("${cache.iban.hot-set.persist-interval:PT5M}") Duration persistInterval) {
+        this.redis = redis;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.decay = decay;
+        this.persistInterval = persistInterval;
+        if (enabled) {
+            sketch.set(IbanFrequencySketch.create(capacity));
+        }
+        Gauge.builder("iban.hot.set.persisted", lastPersisted, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public void record(String iban) {
+        IbanFrequencySketch current = sketch.get();
+        if (current != null) {
+            current.record(iban);
+        }
+    }
+
+    // @Scheduled only parses milliseconds or ISO-8601 durations, not the 5m form
+    @Scheduled(fixedDelayString = "${cache.iban.hot-set.persist-interval:PT5M}",
+            initialDelayString = "${cache.iban.hot-set.persist-interval:PT5M}")
+    public void scheduledPersist() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Integer> top = sketch.getAndSet(IbanFrequencySketch.create(capacity)).topK();
+        persist(top).subscribe(
+                v -> log.info("Persisted {} hot IBANs", top.size()),
+                e -> log.warn("Persisting hot IBANs failed: {}", e.getMessage())
+        );
+    }
+
+    public Mono<Void> persist(Map<String, Integer> counts) {
+        if (counts.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<String> args = new ArrayList<>(counts.size() * 2);
+        counts.forEach((iban, count) -> {
+            args.add(iban);
+            args.add(Integer.toString(count));
+        });
+
+        return redis.execute(DECAY_SCRIPT, List.of(IbanCacheKeys.HOT_SET, IbanCacheKeys.HOT_SET_DECAY),
+                        List.of(Double.toString(decay), Long.toString(persistInterval.toMillis())))
+                .thenMany(Flux.fromIterable(args).buffer(WRITE_CHUNK_SIZE * 2))
+                .concatMap(chunk -> redis.execute(ADD_SCRIPT, List.of(IbanCacheKeys.HOT_SET), chunk))
+                .then(redis.opsForZSet().removeRange(IbanCacheKeys.HOT_SET, Range.closed(0L, -(long) capacity - 1)))
+                .doOnSuccess(removed -> lastPersisted.set(counts.size()))
+                .then();
+    }
+
+    public Mono<Set<String>> load(long limit) {
+        if (!enabled || limit <= 0) {
+            return Mono.just(Set.of());
+        }
+        return redis.opsForZSet()
+                .reverseRange(IbanCacheKeys.HOT_SET, Range.closed(0L, limit - 1))
+                .collect(HashSet::new, Set::add);
+    }
+}
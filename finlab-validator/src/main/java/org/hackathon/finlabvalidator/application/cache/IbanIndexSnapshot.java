@@ -0,0 +1,228 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk copy of an {@link IbanStatusIndex}. The file is a 64-byte header followed by the index sections exactly as
+ * they are laid out in memory (little-endian, each section 8-byte aligned), so reading it only maps the file and
+ * wraps the sections; nothing is parsed or copied. The header holds the format version, the section sizes, the
+ * {@code updated_at} watermark (epoch microseconds) the index is current up to, and a CRC32C of the body.
+ *
+ * <pre>
+ *  0  magic "IBANIDX1"      32  watermark
+ *  8  version               40  body length
+ * 12  hash capacity         48  body CRC32C
+ * 16  packed entries        56  reserved
+ * 20  status words
+ * 24  fallback entries
+ * 28  fallback data length
+ * </pre>
+ */
+public final class IbanIndexSnapshot {
+
+    public static final int VERSION = 1;
+    private static final long MAGIC = 0x315844494E414249L;
+    private static final int HEADER_SIZE = 64;
+    private static final int SCRATCH_SIZE = 64 * 1024;
+
+    private final IbanStatusIndex index;
+    private final long watermark;
+
+    private IbanIndexSnapshot(IbanStatusIndex index, long watermark) {
+        this.index = index;
+        this.watermark = watermark;
+    }
+
+    public IbanStatusIndex index() {
+        return index;
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    /**
+     * Writes {@code index} to a temporary file next to {@code path} and moves it over {@code path} atomically,
+     * so readers see either the previous snapshot or the complete new one.
+     */
+    public static void write(Path path, IbanStatusIndex index, long watermark) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                CRC32C crc = new CRC32C();
+                channel.position(HEADER_SIZE);
+                long bodyLength = writeLongs(channel, index.keys(), scratch, crc)
+                        + writeLongs(channel, index.statusBits(), scratch, crc)
+                        + writeInts(channel, index.fallbackOffsets(), scratch, crc)
+                        + writeBytes(channel, index.fallbackStatuses(), scratch, crc)
+                        + writeBytes(channel, index.fallbackData(), scratch, crc);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(index.keys().capacity())
+                        .putInt(index.packedSize())
+                        .putInt(index.statusBits().capacity())
+                        .putInt(index.fallbackSize())
+                        .putInt(index.fallbackData().capacity())
+                        .putLong(watermark)
+                        .putLong(bodyLength)
+                        .putLong(crc.getValue())
+                        .putLong(0)
+                        .flip();
+                channel.position(0);
+                writeFully(channel, header);
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps the snapshot at {@code path} and checks its header and checksum.
+     *
+     * @throws IOException if the file cannot be read, has another format version or is corrupt
+     */
+    public static IbanIndexSnapshot read(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("IBAN index snapshot " + path + " is larger than 2 GB");
+            }
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("IBAN index snapshot " + path + " is truncated");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer header = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong() != MAGIC) {
+            throw new IOException("File " + path + " is not an IBAN index snapshot");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("IBAN index snapshot " + path + " has version " + version + ", expected " + VERSION);
+        }
+        int capacity = header.getInt();
+        int packedSize = header.getInt();
+        int statusWords = header.getInt();
+        int fallbackSize = header.getInt();
+        int fallbackDataLength = header.getInt();
+        long watermark = header.getLong();
+        long bodyLength = header.getLong();
+        long expectedCrc = header.getLong();
+
+        long offsetsLength = (long) (fallbackSize + 1) * Integer.BYTES;
+        long expectedLength = (long) capacity * Long.BYTES + (long) statusWords * Long.BYTES
+                + align(offsetsLength) + align(fallbackSize) + align(fallbackDataLength);
+        if (bodyLength != expectedLength || HEADER_SIZE + bodyLength != mapped.capacity()) {
+            throw new IOException("IBAN index snapshot " + path + " is truncated");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(mapped.slice(HEADER_SIZE, (int) bodyLength));
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("IBAN index snapshot " + path + " failed its checksum");
+        }
+
+        int position = HEADER_SIZE;
+        LongBuffer keys = section(mapped, position, capacity * Long.BYTES).asLongBuffer();
+        position += capacity * Long.BYTES;
+        LongBuffer statusBits = section(mapped, position, statusWords * Long.BYTES).asLongBuffer();
+        position += statusWords * Long.BYTES;
+        IntBuffer fallbackOffsets = section(mapped, position, (int) offsetsLength).asIntBuffer();
+        position += (int) align(offsetsLength);
+        ByteBuffer fallbackStatuses = section(mapped, position, fallbackSize);
+        position += (int) align(fallbackSize);
+        ByteBuffer fallbackData = section(mapped, position, fallbackDataLength);
+
+        IbanStatusIndex index = new IbanStatusIndex(keys, statusBits, packedSize,
+                fallbackOffsets, fallbackStatuses, fallbackData);
+        return new IbanIndexSnapshot(index, watermark);
+    }
+
+    private static ByteBuffer section(MappedByteBuffer mapped, int position, int length) {
+        return mapped.slice(position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long writeLongs(FileChannel channel, LongBuffer values, ByteBuffer scratch, CRC32C crc)
+            throws IOException {
+        long written = 0;
+        while (values.hasRemaining()) {
+            scratch.clear();
+            while (values.hasRemaining() && scratch.remaining() >= Long.BYTES) {
+                scratch.putLong(values.get());
+            }
+            written += flush(channel, scratch, crc);
+        }
+        return written;
+    }
+
+    private static long writeInts(FileChannel channel, IntBuffer values, ByteBuffer scratch, CRC32C crc)
+            throws IOException {
+        long written = 0;
+        while (values.hasRemaining()) {
+            scratch.clear();
+            while (values.hasRemaining() && scratch.remaining() >= Integer.BYTES) {
+                scratch.putInt(values.get());
+            }
+            written += flush(channel, scratch, crc);
+        }
+        return written + pad(channel, written, scratch, crc);
+    }
+
+    private static long writeBytes(FileChannel channel, ByteBuffer values, ByteBuffer scratch, CRC32C crc)
+            throws IOException {
+        long written = 0;
+        while (values.hasRemaining()) {
+            scratch.clear();
+            int length = Math.min(values.remaining(), scratch.remaining());
+            scratch.put(scratch.position(), values, values.position(), length);
+            values.position(values.position() + length);
+            scratch.position(length);
+            written += flush(channel, scratch, crc);
+        }
+        return written + pad(channel, written, scratch, crc);
+    }
+
+    private static long pad(FileChannel channel, long written, ByteBuffer scratch, CRC32C crc) throws IOException {
+        scratch.clear();
+        for (long i = written; i < align(written); i++) {
+            scratch.put((byte) 0);
+        }
+        return flush(channel, scratch, crc);
+    }
+
+    private static long flush(FileChannel channel, ByteBuffer scratch, CRC32C crc) throws IOException {
+        scratch.flip();
+        int length = scratch.remaining();
+        crc.update(scratch.duplicate());
+        writeFully(channel, scratch);
+        return length;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long align(long length) {
+        return (length + Long.BYTES - 1) & -Long.BYTES;
+    }
+}
@@ -0,0 +1,60 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class IbanLoadCoalescer {
+
+    private final Map<String, InFlightLoad> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalescedWaiters;
+
+    public IbanLoadCoalescer(MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("iban.load.requests")
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.coalescedWaiters = Counter.builder("iban.load.requests")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("iban.load.inflight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Mono<Optional<IbanStatus>> load(String iban, Supplier<Mono<Optional<IbanStatus>>> loader) {
+        return Mono.defer(() -> {
+            InFlightLoad existing = inFlight.get(iban);
+            if (existing != null) {
+                coalescedWaiters.increment();
+                return existing.result;
+            }
+
+            InFlightLoad flight = new InFlightLoad();
+            flight.result = Mono.defer(loader)
+                    .doOnTerminate(() -> inFlight.remove(iban, flight))
+                    .cache();
+
+            existing = inFlight.putIfAbsent(iban, flight);
+            if (existing != null) {
+                coalescedWaiters.increment();
+                return existing.result;
+            }
+
+            loads.increment();
+            return flight.result;
+        });
+    }
+
+    private static final class InFlightLoad {
+        private Mono<Optional<IbanStatus>> result;
+    }
+}
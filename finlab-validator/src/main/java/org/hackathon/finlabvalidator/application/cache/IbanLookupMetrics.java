@@ -0,0 +1,83 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Times each tier of an IBAN lookup as {@code iban.lookup{tier, outcome}} and counts results as
+ * {@code iban.lookup.results{status}}. Tier times are also added to the request's {@link IbanLookupTimings}
+ * when one is in the Reactor context.
+ */
+@Component
+public class IbanLookupMetrics {
+
+    public enum Tier {
+        NEAR("near"),
+        BLOOM("bloom"),
+        REDIS("redis"),
+        DATABASE("db"),
+        WRITE_BACK("cache-write");
+
+        private final String tag;
+
+        Tier(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String NOT_FOUND = "NOT_FOUND";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> results = new ConcurrentHashMap<>();
+
+    public IbanLookupMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(IbanLookupTimings timings, Tier tier, String outcome, long startedAt) {
+        long nanos = System.nanoTime() - startedAt;
+        timer(tier, outcome).record(nanos, TimeUnit.NANOSECONDS);
+        if (timings != null) {
+            timings.add(tier.tag, nanos);
+        }
+    }
+
+    /**
+     * Times {@code source} from subscription until it completes; the outcome tag is derived from the emitted value,
+     * or is {@code emptyOutcome} (or {@code error}) when it completes without one.
+     */
+    public <T> Mono<T> time(Tier tier, Mono<T> source, Function<? super T, String> outcome, String emptyOutcome) {
+        return Mono.deferContextual(context -> {
+            IbanLookupTimings timings = IbanLookupTimings.from(context);
+            long startedAt = System.nanoTime();
+            return source
+                    .doOnSuccess(value -> record(timings, tier, value == null ? emptyOutcome : outcome.apply(value), startedAt))
+                    .doOnError(e -> record(timings, tier, "error", startedAt));
+        });
+    }
+
+    public void recordResult(IbanStatus status) {
+        String tag = status == null ? NOT_FOUND : status.name();
+        results.computeIfAbsent(tag, key -> Counter.builder("iban.lookup.results")
+                        .tag("status", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private Timer timer(Tier tier, String outcome) {
+        return timers.computeIfAbsent(tier.tag + ':' + outcome, key -> Timer.builder("iban.lookup")
+                .tag("tier", tier.tag)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
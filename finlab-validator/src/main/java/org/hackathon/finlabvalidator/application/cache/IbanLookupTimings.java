@@ -0,0 +1,37 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import reactor.util.context.ContextView;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Time spent per tier by one request, rendered as a {@code Server-Timing} header. A request that wants the
+ * breakdown puts an instance into the Reactor context; {@link IbanLookupMetrics} adds to it as the tiers run.
+ */
+public final class IbanLookupTimings {
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Long> tierNanos = new LinkedHashMap<>();
+
+    public static IbanLookupTimings from(ContextView context) {
+        return context.getOrDefault(IbanLookupTimings.class, null);
+    }
+
+    public synchronized void add(String tier, long nanos) {
+        tierNanos.merge(tier, nanos, Long::sum);
+    }
+
+    public synchronized String toHeader() {
+        StringJoiner header = new StringJoiner(", ");
+        tierNanos.forEach((tier, nanos) -> header.add(entry(tier, nanos)));
+        header.add(entry("total", System.nanoTime() - startedAt));
+        return header.toString();
+    }
+
+    private static String entry(String tier, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f", tier, nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,110 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.event.connection.ConnectionActivatedEvent;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Per-replica Caffeine cache in front of Redis. Every replica runs the change listener, which evicts changed IBANs
+ * from its own near-cache only. {@link #invalidate(String)} is for writers outside that path: it publishes on
+ * {@code iban:invalidate}, which every replica evicts. Lettuce re-subscribes to the channel on its own after a dropped
+ * connection, so the cache is also cleared whenever a Redis connection is (re)activated; messages published while
+ * disconnected are lost otherwise.
+ */
+@Component
+public class IbanNearCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanNearCache.class);
+    public static final String INVALIDATION_CHANNEL = "iban:invalidate";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ClientResources clientResources;
+    private final Cache<String, IbanStatus> cache;
+    private final boolean enabled;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public IbanNearCache(ReactiveStringRedisTemplate redis,
+                         ObjectProvider<ClientResources> clientResources,
+                         MeterRegistry meterRegistry,
+                         @Value("${cache.iban.near.enabled:true}") boolean enabled,
+                         @Value("${cache.iban.near.max-entries:50000}") long maxEntries,
+                         @Value("${cache.iban.near.ttl:30s}") Duration ttl) {
+        this.redis = redis;
+        this.clientResources = clientResources.getIfAvailable();
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "iban.near");
+    }
+
+    public IbanStatus get(String iban) {
+        return enabled ? cache.getIfPresent(iban) : null;
+    }
+
+    public void put(String iban, IbanStatus status) {
+        if (enabled) {
+            cache.put(iban, status);
+        }
+    }
+
+    public Mono<Void> invalidate(String iban) {
+        cache.invalidate(iban);
+        return redis.convertAndSend(INVALIDATION_CHANNEL, iban).then();
+    }
+
+    public void evict(Collection<String> ibans) {
+        cache.invalidateAll(ibans);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToInvalidations() {
+        if (!enabled) {
+            log.info("IBAN near-cache is disabled");
+            return;
+        }
+
+        if (clientResources != null) {
+            subscriptions.add(clientResources.eventBus().get()
+                    .filter(ConnectionActivatedEvent.class::isInstance)
+                    .subscribe(event -> {
+                        log.debug("Redis connection to {} activated, clearing the IBAN near-cache",
+                                ((ConnectionActivatedEvent) event).remoteAddress());
+                        cache.invalidateAll();
+                    }));
+        }
+        subscriptions.add(redis.listenToChannel(INVALIDATION_CHANNEL)
+                .doOnSubscribe(s -> cache.invalidateAll())
+                .doOnNext(message -> cache.invalidate(message.getMessage()))
+                .doOnError(e -> log.warn("IBAN near-cache invalidation channel failed: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void unsubscribeFromInvalidations() {
+        subscriptions.dispose();
+    }
+}
@@ -0,0 +1,97 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class IbanNegativeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanNegativeCache.class);
+    public static final String TOMBSTONE = "UNKNOWN";
+    private static final double BLOOM_HEADROOM = 1.1;
+
+    private final boolean bloomEnabled;
+    private final double falsePositiveRate;
+    private final Duration tombstoneTtl;
+    private final Counter bloomRejections;
+    private final Counter tombstoneHits;
+    private volatile IbanBloomFilter filter;
+
+    public IbanNegativeCache(MeterRegistry meterRegistry,
+                             @Value("${cache.iban.negative.bloom-enabled:true}") boolean bloomEnabled,
+                             @Value("${cache.iban.negative.bloom-fpp:0.01}") double falsePositiveRate,
+                             @Value("${cache.iban.negative.tombstone-ttl:60s}") Duration tombstoneTtl) {
+        this.bloomEnabled = bloomEnabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.tombstoneTtl = tombstoneTtl;
+        this.bloomRejections = Counter.builder("iban.negative.hits")
+                .tag("source", "bloom")
+                .register(meterRegistry);
+        this.tombstoneHits = Counter.builder("iban.negative.hits")
+                .tag("source", "tombstone")
+                .register(meterRegistry);
+
+        registerFilterGauge(meterRegistry, "iban.bloom.false.positive.rate", IbanBloomFilter::expectedFalsePositiveRate);
+        registerFilterGauge(meterRegistry, "iban.bloom.size.bytes", f -> f.sizeInBytes());
+        registerFilterGauge(meterRegistry, "iban.bloom.entries", f -> f.insertions());
+    }
+
+    public boolean isBloomEnabled() {
+        return bloomEnabled;
+    }
+
+    public IbanBloomFilter newFilter(long expectedInsertions) {
+        return IbanBloomFilter.create((long) (expectedInsertions * BLOOM_HEADROOM), falsePositiveRate);
+    }
+
+    public void publish(IbanBloomFilter builtFilter) {
+        this.filter = builtFilter;
+        log.info("IBAN bloom filter published: {} entries, {} KB, expected false-positive rate {}",
+                builtFilter.insertions(), builtFilter.sizeInBytes() / 1024,
+                String.format("%.4f", builtFilter.expectedFalsePositiveRate()));
+    }
+
+    public boolean isDefinitelyUnknown(String iban) {
+        IbanBloomFilter current = filter;
+        if (current == null || current.mightContain(iban)) {
+            return false;
+        }
+        bloomRejections.increment();
+        return true;
+    }
+
+    public void recordKnown(String iban) {
+        IbanBloomFilter current = filter;
+        if (current != null) {
+            current.put(iban);
+        }
+    }
+
+    public boolean isTombstone(String cachedValue) {
+        if (TOMBSTONE.equals(cachedValue)) {
+            tombstoneHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public Duration getTombstoneTtl() {
+        return tombstoneTtl;
+    }
+
+    private void registerFilterGauge(MeterRegistry meterRegistry, String name, ToDoubleFunction<IbanBloomFilter> value) {
+        Gauge.builder(name, this, cache -> {
+                    IbanBloomFilter current = cache.filter;
+                    return current == null ? 0 : value.applyAsDouble(current);
+                })
+                .register(meterRegistry);
+    }
+}
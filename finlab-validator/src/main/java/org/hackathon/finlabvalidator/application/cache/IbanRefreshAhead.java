@@ -0,0 +1,55 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when a cached IBAN is reloaded before it expires. Inside the last {@code window} of its TTL a lookup
+ * triggers a refresh with probability {@code 1 - remaining / window}, so hot keys are refreshed early by roughly
+ * one caller while rarely read keys are left to expire.
+ */
+@Component
+public class IbanRefreshAhead {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Counter refreshes;
+    private final Counter hardMisses;
+
+    public IbanRefreshAhead(MeterRegistry meterRegistry,
+                            @Value("${cache.iban.refresh-ahead.enabled:true}") boolean enabled,
+                            @Value("${cache.iban.refresh-ahead.window:2m}") Duration window) {
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.refreshes = Counter.builder("iban.cache.refresh")
+                .tag("type", "ahead")
+                .register(meterRegistry);
+        this.hardMisses = Counter.builder("iban.cache.refresh")
+                .tag("type", "miss")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean shouldRefresh(long ttlMillis) {
+        if (!enabled || ttlMillis < 0 || ttlMillis >= windowMillis) {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextLong(windowMillis) >= ttlMillis;
+    }
+
+    public void recordRefresh() {
+        refreshes.increment();
+    }
+
+    public void recordMisses(int count) {
+        hardMisses.increment(count);
+    }
+}
@@ -0,0 +1,278 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Seeded IBANs ({@code BG} + 2 digits + {@code BANK} + 14 digits) are packed into a long with a 2-bit status;
+ * anything else lands in a sorted byte-keyed fallback. Lookups do not allocate. The sections are held in NIO buffers so
+ * that an index read from an {@link IbanIndexSnapshot} is served straight from the memory-mapped file.
+ */
+public final class IbanStatusIndex {
+
+    private static final IbanStatus[] STATUSES = IbanStatus.values();
+    private static final String PACKED_COUNTRY = "BG";
+    private static final String PACKED_BANK = "BANK";
+    private static final int PACKED_LENGTH = 22;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final Comparator<byte[]> BYTES_ORDER = Arrays::compareUnsigned;
+
+    private final LongBuffer keys;
+    private final LongBuffer statusBits;
+    private final int capacity;
+    private final int packedSize;
+    private final IntBuffer fallbackOffsets;
+    private final ByteBuffer fallbackStatuses;
+    private final ByteBuffer fallbackData;
+    private final int fallbackSize;
+
+    /**
+     * Wraps index sections that are laid out as built by {@link Builder#build()}, either on the heap or in a
+     * memory-mapped {@link IbanIndexSnapshot}. {@code fallbackOffsets} holds one more entry than there are
+     * fallback keys; key {@code i} is {@code fallbackData[offsets[i], offsets[i + 1])}.
+     */
+    IbanStatusIndex(LongBuffer keys, LongBuffer statusBits, int packedSize,
+                    IntBuffer fallbackOffsets, ByteBuffer fallbackStatuses, ByteBuffer fallbackData) {
+        this.keys = keys;
+        this.statusBits = statusBits;
+        this.capacity = keys.capacity();
+        this.packedSize = packedSize;
+        this.fallbackOffsets = fallbackOffsets;
+        this.fallbackStatuses = fallbackStatuses;
+        this.fallbackData = fallbackData;
+        this.fallbackSize = fallbackStatuses.capacity();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public IbanStatus find(CharSequence iban) {
+        long packed = pack(iban);
+        if (packed >= 0) {
+            return findPacked(packed);
+        }
+        return findFallback(iban);
+    }
+
+    public int size() {
+        return packedSize + fallbackSize;
+    }
+
+    public int fallbackSize() {
+        return fallbackSize;
+    }
+
+    public long sizeInBytes() {
+        return (long) keys.capacity() * Long.BYTES + (long) statusBits.capacity() * Long.BYTES
+                + (long) fallbackOffsets.capacity() * Integer.BYTES + fallbackStatuses.capacity()
+                + fallbackData.capacity();
+    }
+
+    int packedSize() {
+        return packedSize;
+    }
+
+    LongBuffer keys() {
+        return keys.duplicate();
+    }
+
+    LongBuffer statusBits() {
+        return statusBits.duplicate();
+    }
+
+    IntBuffer fallbackOffsets() {
+        return fallbackOffsets.duplicate();
+    }
+
+    ByteBuffer fallbackStatuses() {
+        return fallbackStatuses.duplicate();
+    }
+
+    ByteBuffer fallbackData() {
+        return fallbackData.duplicate();
+    }
+
+    private IbanStatus findPacked(long packed) {
+        long stored = packed + 1;
+        int slot = slotFor(packed, capacity);
+        while (true) {
+            long key = keys.get(slot);
+            if (key == 0) {
+                return null;
+            }
+            if (key == stored) {
+                return STATUSES[readStatus(statusBits, slot)];
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+    }
+
+    private IbanStatus findFallback(CharSequence iban) {
+        int low = 0;
+        int high = fallbackSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, iban);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return STATUSES[fallbackStatuses.get(mid)];
+            }
+        }
+        return null;
+    }
+
+    private int compare(int fallback, CharSequence iban) {
+        int from = fallbackOffsets.get(fallback);
+        int keyLength = fallbackOffsets.get(fallback + 1) - from;
+        int length = Math.min(keyLength, iban.length());
+        for (int i = 0; i < length; i++) {
+            int diff = (fallbackData.get(from + i) & 0xff) - iban.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return keyLength - iban.length();
+    }
+
+    static long pack(CharSequence iban) {
+        if (iban.length() != PACKED_LENGTH
+                || iban.charAt(0) != PACKED_COUNTRY.charAt(0)
+                || iban.charAt(1) != PACKED_COUNTRY.charAt(1)) {
+            return -1;
+        }
+        for (int i = 0; i < PACKED_BANK.length(); i++) {
+            if (iban.charAt(4 + i) != PACKED_BANK.charAt(i)) {
+                return -1;
+            }
+        }
+        long value = 0;
+        for (int i = 2; i < PACKED_LENGTH; i++) {
+            if (i == 4) {
+                i += PACKED_BANK.length();
+            }
+            char c = iban.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int slotFor(long packed, int capacity) {
+        long hash = packed * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        return (int) (((hash >>> 32) * capacity) >>> 32);
+    }
+
+    private static int readStatus(LongBuffer bits, int slot) {
+        return (int) (bits.get(slot >>> 5) >>> ((slot & 31) << 1)) & 0b11;
+    }
+
+    private static void writeStatus(long[] bits, int slot, int status) {
+        int shift = (slot & 31) << 1;
+        bits[slot >>> 5] = (bits[slot >>> 5] & ~(0b11L << shift)) | ((long) status << shift);
+    }
+
+    public static final class Builder {
+
+        private long[] packedKeys;
+        private byte[] packedStatuses;
+        private int packedCount;
+        private final List<byte[]> fallbackKeys = new ArrayList<>();
+        private final List<Byte> fallbackStatuses = new ArrayList<>();
+
+        private Builder(int expectedSize) {
+            int initial = Math.max(16, expectedSize);
+            this.packedKeys = new long[initial];
+            this.packedStatuses = new byte[initial];
+        }
+
+        public Builder add(CharSequence iban, IbanStatus status) {
+            long packed = pack(iban);
+            if (packed >= 0) {
+                addPacked(packed, status);
+            } else {
+                fallbackKeys.add(iban.toString().getBytes(StandardCharsets.US_ASCII));
+                fallbackStatuses.add((byte) status.ordinal());
+            }
+            return this;
+        }
+
+        private void addPacked(long packed, IbanStatus status) {
+            if (packedCount == packedKeys.length) {
+                int grown = packedKeys.length + (packedKeys.length >> 1);
+                packedKeys = Arrays.copyOf(packedKeys, grown);
+                packedStatuses = Arrays.copyOf(packedStatuses, grown);
+            }
+            packedKeys[packedCount] = packed;
+            packedStatuses[packedCount] = (byte) status.ordinal();
+            packedCount++;
+        }
+
+        public IbanStatusIndex build() {
+            int capacity = Math.max(16, (int) Math.ceil(packedCount / LOAD_FACTOR));
+            long[] keys = new long[capacity];
+            long[] statusBits = new long[(capacity + 31) >>> 5];
+            int size = 0;
+
+            for (int i = 0; i < packedCount; i++) {
+                long stored = packedKeys[i] + 1;
+                int slot = slotFor(packedKeys[i], capacity);
+                while (keys[slot] != 0 && keys[slot] != stored) {
+                    slot = slot + 1 == capacity ? 0 : slot + 1;
+                }
+                if (keys[slot] == 0) {
+                    keys[slot] = stored;
+                    size++;
+                }
+                writeStatus(statusBits, slot, packedStatuses[i]);
+            }
+
+            Integer[] order = new Integer[fallbackKeys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(fallbackKeys::get, BYTES_ORDER));
+
+            List<byte[]> sortedKeys = new ArrayList<>(order.length);
+            List<Byte> sortedStatuses = new ArrayList<>(order.length);
+            for (int i : order) {
+                byte[] key = fallbackKeys.get(i);
+                int last = sortedKeys.size() - 1;
+                if (last >= 0 && Arrays.equals(sortedKeys.get(last), key)) {
+                    sortedStatuses.set(last, fallbackStatuses.get(i));
+                } else {
+                    sortedKeys.add(key);
+                    sortedStatuses.add(fallbackStatuses.get(i));
+                }
+            }
+
+            int[] offsets = new int[sortedKeys.size() + 1];
+            byte[] statuses = new byte[sortedKeys.size()];
+            for (int i = 0; i < statuses.length; i++) {
+                offsets[i + 1] = offsets[i] + sortedKeys.get(i).length;
+                statuses[i] = sortedStatuses.get(i);
+            }
+            byte[] data = new byte[offsets[statuses.length]];
+            for (int i = 0; i < statuses.length; i++) {
+                System.arraycopy(sortedKeys.get(i), 0, data, offsets[i], sortedKeys.get(i).length);
+            }
+
+            return new IbanStatusIndex(LongBuffer.wrap(keys), LongBuffer.wrap(statusBits), size,
+                    IntBuffer.wrap(offsets), ByteBuffer.wrap(statuses), ByteBuffer.wrap(data));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanTableStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.BitOperation;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shares warm-up runs between validator replicas through Redis. A run is split into id-range partitions;
+ * a replica claims a partition with a lease and a fencing token, records its progress after every page and
+ * ORs its bloom filter bits into the run's shared bitmap when done. A partition whose lease expires is claimed
+ * again and resumed from the recorded progress, and the fencing token keeps the previous owner from writing any more.
+ */
+@Component
+public class IbanWarmupCoordinator {
+
+    private static final String RUN_KEY = IbanCacheKeys.WARMUP_PREFIX + "run";
+    private static final String GENERATION_KEY = IbanCacheKeys.WARMUP_PREFIX + "generation";
+    private static final String FENCE_KEY = IbanCacheKeys.WARMUP_PREFIX + "fence";
+
+    private static final String NOW_MILLIS = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            """;
+
+    // KEYS[1] run hash, KEYS[2] generation counter
+    // ARGV[1] how long a completed run is reused (ms), ARGV[2] run TTL (ms), ARGV[3..] field/value pairs of a new run
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> START_SCRIPT = (RedisScript) RedisScript.of(NOW_MILLIS + """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                local completedAt = redis.call('HGET', KEYS[1], 'completedAt')
+                if not completedAt or now - tonumber(completedAt) < tonumber(ARGV[1]) then
+                    return redis.call('HGETALL', KEYS[1])
+                end
+            end
+            local generation = redis.call('INCR', KEYS[2])
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'generation', generation, unpack(ARGV, 3))
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return redis.call('HGETALL', KEYS[1])
+            """, List.class);
+
+    // KEYS[1] partition hash, KEYS[2] lease, KEYS[3] fence counter; ARGV[1] owner, ARGV[2] lease (ms), ARGV[3] run TTL (ms)
+    // Returns the fencing token, 0 while another replica holds the lease, -1 once the partition is done
+    private static final RedisScript<Long> CLAIM_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], 'done') == '1' then
+                return -1
+            end
+            if not redis.call('SET', KEYS[2], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 0
+            end
+            local token = redis.call('INCR', KEYS[3])
+            redis.call('HSET', KEYS[1], 'token', token, 'owner', ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return token
+            """, Long.class);
+
+    // KEYS[1] partition hash, KEYS[2] lease; ARGV[1] token, ARGV[2] owner, ARGV[3] lease (ms, 0 releases it),
+    // ARGV[4..] field/value pairs. Returns 0 if the token was superseded
+    private static final RedisScript<Long> UPDATE_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], 'token') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+            if ARGV[3] == '0' then
+                redis.call('DEL', KEYS[2])
+            else
+                redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS[1] run hash, KEYS[2..] partition hashes; ARGV[1] generation
+    // Returns the number of partitions not done yet and marks the run completed once there are none
+    private static final RedisScript<Long> COMPLETE_SCRIPT = RedisScript.of(NOW_MILLIS + """
+            if redis.call('HGET', KEYS[1], 'generation') ~= ARGV[1] then
+                return 0
+            end
+            local remaining = 0
+            for i = 2, #KEYS do
+                if redis.call('HGET', KEYS[i], 'done') ~= '1' then
+                    remaining = remaining + 1
+                end
+            end
+            if remaining == 0 then
+                redis.call('HSETNX', KEYS[1], 'completedAt', now)
+            end
+            return remaining
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final String owner = UUID.randomUUID().toString();
+    private final int partitions;
+    private final Duration lease;
+    private final Duration runTtl;
+
+    public IbanWarmupCoordinator(ReactiveStringRedisTemplate redis,
+                                 @Value("${cache.iban.warmup.partitions:8}") int partitions,
+                                 @Value("${cache.iban.warmup.lease:30s}") Duration lease,
+                                 @Value("${cache.iban.warmup.run-ttl:2h}") Duration runTtl) {
+        this.redis = redis;
+        this.partitions = Math.max(1, partitions);
+        this.lease = lease;
+        this.runTtl = runTtl;
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * Joins the current run if it is still in progress or completed less than {@code reuseCompletedFor} ago,
+     * otherwise starts a new one from {@code stats}.
+     */
+    public Mono<IbanWarmupRun> startOrJoin(IbanTableStats stats, long snapshotAt, boolean hotOnly,
+                                           Duration reuseCompletedFor) {
+        List<String> args = List.of(
+                Long.toString(reuseCompletedFor.toMillis()),
+                Long.toString(runTtl.toMillis()),
+                "minId", Long.toString(stats.minId()),
+                "maxId", Long.toString(stats.maxId()),
+                "rowCount", Long.toString(stats.rowCount()),
+                "partitions", Integer.toString(partitions),
+                "hotOnly", Boolean.toString(hotOnly),
+                "snapshotAt", Long.toString(snapshotAt));
+
+        return redis.execute(START_SCRIPT, List.of(RUN_KEY, GENERATION_KEY), args)
+                .next()
+                .map(IbanWarmupCoordinator::toRun);
+    }
+
+    public Mono<Long> claim(IbanWarmupRun run, int partition) {
+        return redis.execute(CLAIM_SCRIPT,
+                        List.of(partitionKey(run, partition), leaseKey(run, partition), FENCE_KEY),
+                        List.of(owner, Long.toString(lease.toMillis()), Long.toString(runTtl.toMillis())))
+                .next();
+    }
+
+    public Mono<IbanWarmupProgress> progress(IbanWarmupRun run, int partition) {
+        return redis.<String, String>opsForHash()
+                .multiGet(partitionKey(run, partition), List.of("lastId", "cold"))
+                .map(values -> new IbanWarmupProgress(
+                        values.get(0) == null ? run.partitionAfterId(partition) : Long.parseLong(values.get(0)),
+                        values.get(1) == null ? 0 : Long.parseLong(values.get(1))));
+    }
+
+    public IbanWriteFence fence(IbanWarmupRun run, int partition, long token) {
+        return new IbanWriteFence(partitionKey(run, partition), token);
+    }
+
+    public Mono<Boolean> recordProgress(IbanWarmupRun run, int partition, long token, IbanWarmupProgress progress) {
+        return update(run, partition, token, lease.toMillis(), List.of(
+                "lastId", Long.toString(progress.lastId()),
+                "cold", Long.toString(progress.coldWritten())));
+    }
+
+    /**
+     * Marks a partition done. With a bloom filter, its bits are first ORed into the run's shared bitmap through a
+     * temporary key, so Redis holds one filter per run however many partitions it has. {@code bloomFilter} may also
+     * hold IBANs of other partitions; adding known IBANs twice is harmless, so a replica can build one filter for all
+     * the partitions it warms, and a fenced-out owner's bits do no harm either.
+     */
+    public Mono<Boolean> completePartition(IbanWarmupRun run, int partition, long token, IbanWarmupProgress progress,
+                                           IbanBloomFilter bloomFilter, long bloomEntries) {
+        List<String> fields = new ArrayList<>(List.of(
+                "lastId", Long.toString(progress.lastId()),
+                "cold", Long.toString(progress.coldWritten()),
+                "done", "1"));
+        if (bloomFilter == null) {
+            return update(run, partition, token, 0, fields);
+        }
+        fields.addAll(List.of("bloomEntries", Long.toString(bloomEntries)));
+        return addBloomBits(run, partitionKey(run, partition) + ":bloom:" + token, bloomFilter)
+                .then(update(run, partition, token, 0, fields));
+    }
+
+    /**
+     * Returns how many partitions of {@code run} are not done yet, and marks the run completed once none are left.
+     */
+    public Mono<Integer> remainingPartitions(IbanWarmupRun run) {
+        List<String> keys = new ArrayList<>(run.partitions() + 1);
+        keys.add(RUN_KEY);
+        for (int partition = 0; partition < run.partitions(); partition++) {
+            keys.add(partitionKey(run, partition));
+        }
+        return redis.execute(COMPLETE_SCRIPT, keys, List.of(Long.toString(run.generation())))
+                .next()
+                .map(Long::intValue);
+    }
+
+    /**
+     * Merges the run's shared bloom filter bitmap into {@code target}, which must have been created for
+     * {@link IbanWarmupRun#rowCount()} entries so that it has the same size as every partition's filter.
+     */
+    public Mono<Void> mergeBloomFilter(IbanWarmupRun run, IbanBloomFilter target) {
+        Mono<Long> entries = Flux.range(0, run.partitions())
+                .concatMap(partition -> redis.<String, String>opsForHash()
+                        .get(partitionKey(run, partition), "bloomEntries")
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                                "Warm-up run " + run.generation() + " has a partition without bloom filter"))))
+                .map(Long::parseLong)
+                .reduce(0L, Long::sum);
+        Mono<ByteBuffer> bits = redis.execute(connection -> connection.stringCommands().get(rawKey(bloomKey(run))))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                        "Warm-up run " + run.generation() + " has no bloom filter")));
+        return Mono.zip(bits, entries)
+                .doOnNext(merged -> target.merge(merged.getT1(), merged.getT2()))
+                .then();
+    }
+
+    private Mono<Void> addBloomBits(IbanWarmupRun run, String partKey, IbanBloomFilter bloomFilter) {
+        ByteBuffer bits = ByteBuffer.wrap(bloomFilter.toByteArray());
+        return redis.execute(connection -> connection.stringCommands()
+                        .set(rawKey(partKey), bits, Expiration.from(runTtl), SetOption.upsert())
+                        .then(connection.stringCommands().bitOp(
+                                List.of(rawKey(bloomKey(run)), rawKey(partKey)), BitOperation.OR, rawKey(bloomKey(run))))
+                        .then(connection.keyCommands().pExpire(rawKey(bloomKey(run)), runTtl))
+                        .then(connection.keyCommands().del(rawKey(partKey))))
+                .then();
+    }
+
+    private Mono<Boolean> update(IbanWarmupRun run, int partition, long token, long leaseMillis, List<String> fields) {
+        List<String> args = new ArrayList<>(fields.size() + 3);
+        args.add(Long.toString(token));
+        args.add(owner);
+        args.add(Long.toString(leaseMillis));
+        args.addAll(fields);
+        return redis.execute(UPDATE_SCRIPT, List.of(partitionKey(run, partition), leaseKey(run, partition)), args)
+                .next()
+                .map(updated -> updated == 1);
+    }
+
+    private static String partitionKey(IbanWarmupRun run, int partition) {
+        return IbanCacheKeys.WARMUP_PREFIX + run.generation() + ":p:" + partition;
+    }
+
+    private static String bloomKey(IbanWarmupRun run) {
+        return IbanCacheKeys.WARMUP_PREFIX + run.generation() + ":bloom";
+    }
+
+    private static ByteBuffer rawKey(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String leaseKey(IbanWarmupRun run, int partition) {
+        return partitionKey(run, partition) + ":lease";
+    }
+
+    private static IbanWarmupRun toRun(List<String> fields) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            values.put(fields.get(i), fields.get(i + 1));
+        }
+        return new IbanWarmupRun(
+                Long.parseLong(values.get("generation")),
+                Long.parseLong(values.get("minId")),
+                Long.parseLong(values.get("maxId")),
+                Long.parseLong(values.get("rowCount")),
+                Integer.parseInt(values.get("partitions")),
+                Boolean.parseBoolean(values.get("hotOnly")),
+                Long.parseLong(values.get("snapshotAt")));
+    }
+}
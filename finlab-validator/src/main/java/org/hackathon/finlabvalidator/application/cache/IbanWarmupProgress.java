@@ -0,0 +1,4 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+public record IbanWarmupProgress(long lastId, long coldWritten) {
+}
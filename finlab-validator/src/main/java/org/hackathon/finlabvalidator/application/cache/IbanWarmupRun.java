@@ -0,0 +1,28 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+/**
+ * One cluster-wide warm-up. The id range {@code [minId, maxId]} is split into {@code partitions} equal ranges
+ * that replicas claim independently.
+ */
+public record IbanWarmupRun(
+        long generation,
+        long minId,
+        long maxId,
+        long rowCount,
+        int partitions,
+        boolean hotOnly,
+        long snapshotAt
+) {
+
+    public long partitionAfterId(int partition) {
+        return minId - 1 + partition * partitionSize();
+    }
+
+    public long partitionUpToId(int partition) {
+        return partition == partitions - 1 ? maxId : partitionAfterId(partition + 1);
+    }
+
+    private long partitionSize() {
+        return (maxId - minId + partitions) / partitions;
+    }
+}
@@ -0,0 +1,152 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the current (or last) IBAN cache warm-up as seen by this replica. Progress is measured in finished
+ * partitions of the shared run, so it includes partitions warmed by other replicas. Once a warm-up has reached the
+ * ready ratio the replica stays warm, even while later reconciliation runs are in progress.
+ */
+@Component
+public class IbanWarmupState {
+
+    public enum Phase { IDLE, RUNNING, COMPLETED, FAILED, DISABLED }
+
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong entriesWritten = new AtomicLong();
+    private volatile Phase phase = Phase.IDLE;
+    private volatile long generation;
+    private volatile int partitions;
+    private volatile int partitionsDone;
+    private volatile long startedAtNanos;
+    private volatile long lastEntriesPerSecond;
+    private volatile Instant startedAt;
+    private volatile Instant lastSuccess;
+    private volatile String lastError;
+    private volatile boolean warmedOnce;
+
+    public IbanWarmupState(MeterRegistry meterRegistry) {
+        Gauge.builder("iban.warmup.progress", this, IbanWarmupState::warmRatio)
+                .register(meterRegistry);
+        Gauge.builder("iban.warmup.pages", pages, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("iban.warmup.entries.written", entriesWritten, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("iban.warmup.entries.per.second", this, IbanWarmupState::entriesPerSecond)
+                .register(meterRegistry);
+        Gauge.builder("iban.warmup.eta.seconds", this, IbanWarmupState::etaSeconds)
+                .register(meterRegistry);
+        Gauge.builder("iban.warmup.last.success", this,
+                        state -> state.lastSuccess == null ? 0 : state.lastSuccess.getEpochSecond())
+                .register(meterRegistry);
+    }
+
+    public void disabled() {
+        phase = Phase.DISABLED;
+    }
+
+    public void started(long generation, int partitions) {
+        this.generation = generation;
+        this.partitions = partitions;
+        this.partitionsDone = 0;
+        this.startedAt = Instant.now();
+        this.startedAtNanos = System.nanoTime();
+        pages.set(0);
+        entriesWritten.set(0);
+        phase = Phase.RUNNING;
+    }
+
+    public void pageWritten(int entries) {
+        pages.incrementAndGet();
+        entriesWritten.addAndGet(entries);
+    }
+
+    public void partitionsDone(int done) {
+        partitionsDone = done;
+    }
+
+    public void completed() {
+        partitionsDone = partitions;
+        lastEntriesPerSecond = entriesPerSecond();
+        lastSuccess = Instant.now();
+        lastError = null;
+        warmedOnce = true;
+        phase = Phase.COMPLETED;
+    }
+
+    public void failed(Throwable error) {
+        lastEntriesPerSecond = entriesPerSecond();
+        lastError = error.getMessage();
+        phase = Phase.FAILED;
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    /**
+     * Share of the current run's partitions that are finished, between 0 and 1.
+     */
+    public double warmRatio() {
+        if (phase == Phase.COMPLETED) {
+            return 1.0;
+        }
+        int total = partitions;
+        return total == 0 ? 0.0 : (double) partitionsDone / total;
+    }
+
+    public boolean isWarm(double minRatio) {
+        if (!warmedOnce && phase != Phase.DISABLED && warmRatio() >= minRatio) {
+            warmedOnce = true;
+        }
+        return warmedOnce || phase == Phase.DISABLED;
+    }
+
+    public long entriesPerSecond() {
+        if (phase != Phase.RUNNING) {
+            return lastEntriesPerSecond;
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAtNanos);
+        return entriesWritten.get() * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Seconds until the current run is expected to finish, extrapolated from the partitions finished so far,
+     * or -1 while no run is in progress or no partition has finished yet.
+     */
+    public long etaSeconds() {
+        double ratio = warmRatio();
+        if (phase != Phase.RUNNING || ratio <= 0) {
+            return -1;
+        }
+        long elapsedNanos = System.nanoTime() - startedAtNanos;
+        return Duration.ofNanos((long) (elapsedNanos * (1 - ratio) / ratio)).toSeconds();
+    }
+
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("phase", phase);
+        details.put("run", generation);
+        details.put("partitions", partitions);
+        details.put("partitionsDone", phase == Phase.COMPLETED ? partitions : partitionsDone);
+        details.put("progress", warmRatio());
+        details.put("pages", pages.get());
+        details.put("entriesWritten", entriesWritten.get());
+        details.put("entriesPerSecond", entriesPerSecond());
+        details.put("etaSeconds", etaSeconds());
+        details.put("startedAt", startedAt);
+        details.put("lastSuccess", lastSuccess);
+        if (lastError != null) {
+            details.put("lastError", lastError);
+        }
+        return details;
+    }
+}
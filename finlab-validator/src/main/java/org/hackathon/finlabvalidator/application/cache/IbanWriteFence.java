@@ -0,0 +1,9 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+/**
+ * A write is applied only while the {@code token} field of the hash at {@code key} still equals {@code token}.
+ */
+public record IbanWriteFence(String key, long token) {
+
+    public static final String TOKEN_FIELD = "token";
+}
@@ -0,0 +1,173 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.hackathon.finlabvalidator.persistence.repository.IIbanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link IbanStatusIndex} plus the changes applied since it was built. When a snapshot path is
+ * configured, every rebuilt index is written to an {@link IbanIndexSnapshot}, and on startup the last snapshot is
+ * memory-mapped and served right away while the change listener catches up from its watermark.
+ */
+@Component
+public class InMemoryIbanIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryIbanIndex.class);
+
+    private final IIbanRepository repository;
+    private final Scheduler blockingScheduler;
+    private final boolean enabled;
+    private final boolean syncEnabled;
+    private final Path snapshotPath;
+    private final AtomicReference<IbanStatusIndex> current = new AtomicReference<>();
+    private final AtomicBoolean isLoading = new AtomicBoolean(false);
+    private final Map<String, AppliedChange> changes = new ConcurrentHashMap<>();
+    private volatile long snapshotWatermark = -1;
+
+    public InMemoryIbanIndex(IIbanRepository repository,
+                             Scheduler blockingScheduler,
+                             @Value("${cache.iban.index.enabled:false}") boolean enabled,
+                             @Value("${cache.iban.sync.enabled:true}") boolean syncEnabled,
+                             @Value("${cache.iban.index.snapshot-path:}") String snapshotPath) {
+        this.repository = repository;
+        this.blockingScheduler = blockingScheduler;
+        this.enabled = enabled;
+        this.syncEnabled = syncEnabled;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    public IbanStatusIndex current() {
+        return current.get();
+    }
+
+    public IbanStatus find(IbanStatusIndex snapshot, String iban) {
+        if (!changes.isEmpty()) {
+            AppliedChange change = changes.get(iban);
+            if (change != null) {
+                return change.status();
+            }
+        }
+        return snapshot.find(iban);
+    }
+
+    public void apply(String iban, IbanStatus status) {
+        if (enabled) {
+            changes.put(iban, new AppliedChange(status, System.nanoTime()));
+        }
+    }
+
+    /**
+     * The {@code updated_at} watermark of the snapshot served since startup, or -1 if the index was not loaded from
+     * a snapshot.
+     */
+    public long snapshotWatermark() {
+        return snapshotWatermark;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadSnapshot() {
+        if (!enabled || snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            IbanIndexSnapshot snapshot = IbanIndexSnapshot.read(snapshotPath);
+            current.set(snapshot.index());
+            snapshotWatermark = snapshot.watermark();
+            log.info("IBAN index mapped from snapshot {} in {} ms: {} entries ({} fallback), {} KB",
+                    snapshotPath, (System.nanoTime() - startedAt) / 1_000_000, snapshot.index().size(),
+                    snapshot.index().fallbackSize(), snapshot.index().sizeInBytes() / 1024);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring IBAN index snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        if (current.get() != null && syncEnabled) {
+            log.info("Serving the IBAN index snapshot, changes since it was written are caught up by the change listener");
+            return;
+        }
+        refreshInBackground("startup");
+    }
+
+    @Scheduled(cron = "${cache.iban.index.refresh-cron:0 */15 * * * *}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        refreshInBackground("scheduled");
+    }
+
+    public Mono<IbanStatusIndex> refresh() {
+        long startedAt = System.nanoTime();
+        return Mono.fromCallable(() -> {
+                    long watermark = repository.currentTimestamp();
+                    IbanStatusIndex index = build();
+                    current.set(index);
+                    changes.values().removeIf(change -> change.appliedAt() - startedAt < 0);
+                    log.info("IBAN index swapped in: {} entries ({} fallback), {} KB",
+                            index.size(), index.fallbackSize(), index.sizeInBytes() / 1024);
+                    writeSnapshot(index, watermark);
+                    return index;
+                })
+                .subscribeOn(blockingScheduler);
+    }
+
+    private void refreshInBackground(String trigger) {
+        if (!isLoading.compareAndSet(false, true)) {
+            log.info("IBAN index rebuild already in progress, skipping {} rebuild", trigger);
+            return;
+        }
+
+        log.info("Starting {} IBAN index rebuild...", trigger);
+        refresh()
+                .doFinally(signal -> isLoading.set(false))
+                .subscribe(
+                        index -> log.info("IBAN index {} rebuild completed successfully", trigger),
+                        e -> log.error("IBAN index {} rebuild failed, keeping previous index", trigger, e)
+                );
+    }
+
+    private void writeSnapshot(IbanStatusIndex index, long watermark) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            IbanIndexSnapshot.write(snapshotPath, index, watermark);
+            log.info("IBAN index snapshot written to {}", snapshotPath);
+        } catch (IOException e) {
+            log.warn("Writing IBAN index snapshot {} failed: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private IbanStatusIndex build() {
+        IbanStatusIndex.Builder builder = IbanStatusIndex.builder((int) repository.count());
+        repository.copyAll(Long.MAX_VALUE, (id, iban, status) -> builder.add(iban, status));
+        return builder.build();
+    }
+
+    private record AppliedChange(IbanStatus status, long appliedAt) {
+    }
+}
@@ -0,0 +1,157 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spreads the IBAN cache over several Redis nodes. Every IBAN is routed to one node's store by an
+ * {@link IbanCacheShardRing}; batch reads and writes are split per node and sent to all nodes in parallel.
+ * <p>
+ * Warm-up fences live on the coordination Redis, and a fenced page is checked there first. That check and the node
+ * writes are separate round trips, so each node also keeps its own copy of the fence: before writing, a node's copy is
+ * raised to the writer's token unless it already holds a newer one, and the node's fenced write script then only
+ * applies the page while the copy still equals the token. Once a newer owner has written to a node, an older owner's
+ * page is rejected there; a page the older owner lands before that is overwritten by the newer owner, which rewrites
+ * the partition from its checkpoint.
+ */
+public class ShardedIbanCacheStore implements IIbanCacheStore {
+
+    private static final String NODE_FENCE_SUFFIX = ":node";
+
+    // KEYS[1] fence hash; returns the token and the remaining TTL in ms
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Object>> READ_FENCE_SCRIPT = (RedisScript) RedisScript.of("""
+            return {redis.call('HGET', KEYS[1], '%s') or '', redis.call('PTTL', KEYS[1])}
+            """.formatted(IbanWriteFence.TOKEN_FIELD), List.class);
+
+    // KEYS[1] node copy of the fence; ARGV[1] token, ARGV[2] TTL in ms (<= 0 keeps none). Returns 0 when a newer
+    // token is already there
+    private static final RedisScript<Long> RAISE_FENCE_SCRIPT = RedisScript.of("""
+            local current = tonumber(redis.call('HGET', KEYS[1], '%s') or '-1')
+            local token = tonumber(ARGV[1])
+            if current > token then
+                return 0
+            end
+            if current < token then
+                redis.call('HSET', KEYS[1], '%s', ARGV[1])
+                if tonumber(ARGV[2]) > 0 then
+                    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                end
+            end
+            return 1
+            """.formatted(IbanWriteFence.TOKEN_FIELD, IbanWriteFence.TOKEN_FIELD), Long.class);
+
+    private final List<IIbanCacheStore> shards;
+    private final List<ReactiveStringRedisTemplate> nodes;
+    private final IbanCacheShardRing ring;
+    private final ReactiveStringRedisTemplate coordination;
+
+    public ShardedIbanCacheStore(List<IIbanCacheStore> shards, List<ReactiveStringRedisTemplate> nodes,
+                                 IbanCacheShardRing ring, ReactiveStringRedisTemplate coordination) {
+        this.shards = shards;
+        this.nodes = nodes;
+        this.ring = ring;
+        this.coordination = coordination;
+    }
+
+    @Override
+    public Mono<String> get(String iban) {
+        return shardFor(iban).get(iban);
+    }
+
+    @Override
+    public Mono<IbanCacheHit> getWithTtl(String iban) {
+        return shardFor(iban).getWithTtl(iban);
+    }
+
+    @Override
+    public Mono<List<String>> getAll(List<String> ibans) {
+        List<List<Integer>> positions = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < ibans.size(); i++) {
+            positions.get(ring.shardFor(ibans.get(i))).add(i);
+        }
+
+        String[] values = new String[ibans.size()];
+        return Flux.range(0, shards.size())
+                .filter(shard -> !positions.get(shard).isEmpty())
+                .flatMap(shard -> {
+                    List<Integer> shardPositions = positions.get(shard);
+                    List<String> shardIbans = shardPositions.stream().map(ibans::get).toList();
+                    return shards.get(shard).getAll(shardIbans)
+                            .doOnNext(shardValues -> {
+                                for (int i = 0; i < shardPositions.size(); i++) {
+                                    values[shardPositions.get(i)] = shardValues.get(i);
+                                }
+                            });
+                })
+                .then(Mono.fromSupplier(() -> Arrays.asList(values)));
+    }
+
+    @Override
+    public Mono<Void> put(String iban, String value, Duration ttl) {
+        return shardFor(iban).put(iban, value, ttl);
+    }
+
+    @Override
+    public Mono<Void> putAll(List<IbanCacheEntry> entries) {
+        List<List<IbanCacheEntry>> perShard = split(entries);
+        return Flux.range(0, shards.size())
+                .filter(shard -> !perShard.get(shard).isEmpty())
+                .flatMap(shard -> shards.get(shard).putAll(perShard.get(shard)))
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence) {
+        String token = Long.toString(fence.token());
+        return coordination.execute(READ_FENCE_SCRIPT, List.of(fence.key()))
+                .next()
+                .flatMap(current -> token.equals(current.get(0))
+                        ? putAllFenced(entries, fence, ((Number) current.get(1)).longValue())
+                        : Mono.just(false));
+    }
+
+    private Mono<Boolean> putAllFenced(List<IbanCacheEntry> entries, IbanWriteFence fence, long ttlMillis) {
+        IbanWriteFence nodeFence = new IbanWriteFence(fence.key() + NODE_FENCE_SUFFIX, fence.token());
+        List<String> args = List.of(Long.toString(fence.token()), Long.toString(ttlMillis));
+        List<List<IbanCacheEntry>> perShard = split(entries);
+        return Flux.range(0, shards.size())
+                .filter(shard -> !perShard.get(shard).isEmpty())
+                .flatMap(shard -> nodes.get(shard).execute(RAISE_FENCE_SCRIPT, List.of(nodeFence.key()), args)
+                        .next()
+                        .flatMap(raised -> raised == 1
+                                ? shards.get(shard).putAll(perShard.get(shard), nodeFence)
+                                : Mono.just(false)))
+                .all(written -> written);
+    }
+
+    @Override
+    public String keyPattern() {
+        return shards.get(0).keyPattern();
+    }
+
+    private IIbanCacheStore shardFor(String iban) {
+        return shards.get(ring.shardFor(iban));
+    }
+
+    private List<List<IbanCacheEntry>> split(List<IbanCacheEntry> entries) {
+        List<List<IbanCacheEntry>> perShard = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            perShard.add(new ArrayList<>(entries.size() / shards.size() + 1));
+        }
+        for (IbanCacheEntry entry : entries) {
+            perShard.get(ring.shardFor(entry.iban())).add(entry);
+        }
+        return perShard;
+    }
+}
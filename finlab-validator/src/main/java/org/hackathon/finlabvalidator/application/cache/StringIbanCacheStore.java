@@ -0,0 +1,116 @@
+package org.hackathon.finlabvalidator.application.cache;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StringIbanCacheStore implements IIbanCacheStore {
+
+    private static final RedisScript<Long> BULK_SET_SCRIPT = RedisScript.of("""
+            for i = 1, #KEYS do
+                redis.call('SET', KEYS[i], ARGV[2 * i - 1], 'PX', ARGV[2 * i])
+            end
+            return #KEYS
+            """, Long.class);
+
+    // KEYS[1] is the fence hash and ARGV[1] the fencing token; -1 means the write was fenced out
+    private static final RedisScript<Long> FENCED_BULK_SET_SCRIPT = RedisScript.of("""
+            if redis.call('HGET', KEYS[1], '%s') ~= ARGV[1] then
+                return -1
+            end
+            for i = 2, #KEYS do
+                redis.call('SET', KEYS[i], ARGV[2 * i - 2], 'PX', ARGV[2 * i - 1])
+            end
+            return #KEYS - 1
+            """.formatted(IbanWriteFence.TOKEN_FIELD), Long.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> GET_WITH_TTL_SCRIPT = (RedisScript) RedisScript.of("""
+            local value = redis.call('GET', KEYS[1])
+            if not value then
+                return {}
+            end
+            return {value, tostring(redis.call('PTTL', KEYS[1]))}
+            """, List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final String keyPrefix;
+    private final int writeChunkSize;
+    private final int maxInFlightWrites;
+
+    public StringIbanCacheStore(ReactiveStringRedisTemplate redis, String keyPrefix,
+                                int writeChunkSize, int maxInFlightWrites) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.writeChunkSize = writeChunkSize;
+        this.maxInFlightWrites = maxInFlightWrites;
+    }
+
+    @Override
+    public Mono<String> get(String iban) {
+        return redis.opsForValue().get(key(iban));
+    }
+
+    @Override
+    public Mono<IbanCacheHit> getWithTtl(String iban) {
+        return redis.execute(GET_WITH_TTL_SCRIPT, List.of(key(iban)))
+                .next()
+                .filter(result -> result.size() == 2)
+                .map(result -> new IbanCacheHit(result.get(0), Long.parseLong(result.get(1))));
+    }
+
+    @Override
+    public Mono<List<String>> getAll(List<String> ibans) {
+        return redis.opsForValue().multiGet(ibans.stream().map(this::key).toList());
+    }
+
+    @Override
+    public Mono<Void> put(String iban, String value, Duration ttl) {
+        return redis.opsForValue().set(key(iban), value, ttl).then();
+    }
+
+    @Override
+    public Mono<Void> putAll(List<IbanCacheEntry> entries) {
+        return Flux.fromIterable(entries)
+                .buffer(writeChunkSize)
+                .flatMap(chunk -> writeChunk(chunk, null), maxInFlightWrites)
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence) {
+        return Flux.fromIterable(entries)
+                .buffer(writeChunkSize)
+                .flatMap(chunk -> writeChunk(chunk, fence), maxInFlightWrites)
+                .all(written -> written >= 0);
+    }
+
+    @Override
+    public String keyPattern() {
+        return IbanCacheKeys.pattern(keyPrefix);
+    }
+
+    private Mono<Long> writeChunk(List<IbanCacheEntry> chunk, IbanWriteFence fence) {
+        List<String> keys = new ArrayList<>(chunk.size() + 1);
+        List<String> args = new ArrayList<>(chunk.size() * 2 + 1);
+        if (fence != null) {
+            keys.add(fence.key());
+            args.add(Long.toString(fence.token()));
+        }
+        for (IbanCacheEntry entry : chunk) {
+            keys.add(key(entry.iban()));
+            args.add(entry.value());
+            args.add(Long.toString(Math.max(1, entry.ttl().toMillis())));
+        }
+        return redis.execute(fence != null ? FENCED_BULK_SET_SCRIPT : BULK_SET_SCRIPT, keys, args).next();
+    }
+
+    private String key(String iban) {
+        return IbanCacheKeys.key(keyPrefix, iban);
+    }
+}
@@ -0,0 +1,156 @@
+package org.hackathon.finlabvalidator.application.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows measured latency. Latencies are averaged per window of at least {@code window} and
+ * {@value #MIN_WINDOW_SAMPLES} calls, and a slow moving average of the window averages serves as the baseline. While
+ * a window stays within {@code tolerance} times the baseline, the limit grows by about its square root per window;
+ * once latency climbs above that it shrinks in proportion. Each window moves the limit a fifth of the way to its target
+ * and the target is at least half the limit, so one window takes off at most about 10%, e.g. from 1000 to roughly 380
+ * within a second of 100ms windows. Failed calls cut the limit multiplicatively. Calls beyond the limit are rejected
+ * right away instead of queueing, which keeps the work that is admitted fast when a dependency slows down. Working
+ * per window rather than per call makes the adaptation speed independent of the request rate.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_SMOOTHING = 1.0 / 600;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double LONG_DRIFT_RATIO = 2.0;
+    private static final double LONG_DRIFT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Counter rejected;
+    private volatile int limit;
+
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private double longLatency;
+    private long windowStart = System.nanoTime();
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, String path,
+                                      int initialLimit, int minLimit, int maxLimit, double tolerance, Duration window) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.rejected = Counter.builder("validator.concurrency.rejected")
+                .tag("path", path)
+                .register(meterRegistry);
+        Gauge.builder("validator.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .tag("path", path)
+                .register(meterRegistry);
+        Gauge.builder("validator.concurrency.inflight", inFlight, AtomicInteger::get)
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Admits a call if fewer than {@link #limit()} calls are in flight. Every admitted call has to be finished with
+     * exactly one of {@link #onSuccess}, {@link #onDropped} or {@link #onIgnore}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Finishes a call that completed normally, feeding its latency into the limit.
+     */
+    public void onSuccess(long startedAt) {
+        long now = System.nanoTime();
+        int concurrency = inFlight.getAndDecrement();
+        // Samples arriving while another thread holds the lock are skipped rather than queued behind it
+        if (updateLock.tryLock()) {
+            try {
+                windowLatencySum += now - startedAt;
+                windowSamples++;
+                windowMaxInFlight = Math.max(windowMaxInFlight, concurrency);
+                if (windowSamples >= MIN_WINDOW_SAMPLES && now - windowStart >= windowNanos) {
+                    update((double) windowLatencySum / windowSamples, windowMaxInFlight);
+                    windowStart = now;
+                    windowLatencySum = 0;
+                    windowSamples = 0;
+                    windowMaxInFlight = 0;
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Finishes a call that failed or timed out, which is taken as a sign of overload.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        updateLock.lock();
+        try {
+            setLimit(estimatedLimit * DROP_BACKOFF);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Finishes a call whose latency says nothing about load, e.g. one that was cancelled.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private void update(double latency, int concurrency) {
+        longLatency = longLatency == 0 ? latency : longLatency + (latency - longLatency) * LONG_SMOOTHING;
+        // Sustained overload drags the baseline up; pull it back once latency has recovered
+        if (longLatency > latency * LONG_DRIFT_RATIO) {
+            longLatency *= LONG_DRIFT_DECAY;
+        }
+        // Hardly using the current limit says nothing about whether a higher one would be safe
+        if (concurrency < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / latency));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING);
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
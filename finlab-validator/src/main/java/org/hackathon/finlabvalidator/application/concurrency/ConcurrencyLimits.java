@@ -0,0 +1,112 @@
+package org.hackathon.finlabvalidator.application.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+
+/**
+ * The validator's two concurrency limits. The request limit admits API requests at the web filter, so excess load is
+ * shed before it takes a thread or a buffer; most admitted requests are answered from the caches. The database limit
+ * admits PostgreSQL reads on cache misses, so a slow database sheds misses on its own while cache hits keep flowing
+ * under the request limit. The database limit leaves {@code reserved-connections} of its maximum to the connections
+ * held outside lookups: the change listener's LISTEN and the warm-up COPY share the same pool. Streaming requests are
+ * long-lived by design and are not limited.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    public static final String REQUEST = "request";
+    public static final String DATABASE = "database";
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final String basePath;
+    private final AdaptiveConcurrencyLimiter request;
+    private final AdaptiveConcurrencyLimiter database;
+
+    public ConcurrencyLimits(MeterRegistry meterRegistry,
+                             @Value("${app.api.base-path}") String basePath,
+                             @Value("${app.api.concurrency.enabled:true}") boolean enabled,
+                             @Value("${app.api.concurrency.retry-after:1s}") Duration retryAfter,
+                             @Value("${app.api.concurrency.tolerance:1.5}") double tolerance,
+                             @Value("${app.api.concurrency.window:100ms}") Duration window,
+                             @Value("${app.api.concurrency.request.initial-limit:200}") int requestInitialLimit,
+                             @Value("${app.api.concurrency.request.min-limit:20}") int requestMinLimit,
+                             @Value("${app.api.concurrency.request.max-limit:2000}") int requestMaxLimit,
+                             @Value("${app.api.concurrency.database.initial-limit:10}") int databaseInitialLimit,
+                             @Value("${app.api.concurrency.database.min-limit:4}") int databaseMinLimit,
+                             @Value("${app.api.concurrency.database.max-limit:10}") int databaseMaxLimit,
+                             @Value("${app.api.concurrency.database.reserved-connections:2}") int databaseReservedConnections) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.basePath = basePath;
+        this.request = new AdaptiveConcurrencyLimiter(meterRegistry, REQUEST,
+                requestInitialLimit, requestMinLimit, requestMaxLimit, tolerance, window);
+        this.database = new AdaptiveConcurrencyLimiter(meterRegistry, DATABASE,
+                databaseInitialLimit, databaseMinLimit, databaseMaxLimit - databaseReservedConnections, tolerance, window);
+    }
+
+    public boolean isLimited(String path) {
+        return enabled && path.startsWith(basePath) && !path.endsWith(":stream");
+    }
+
+    public AdaptiveConcurrencyLimiter request() {
+        return request;
+    }
+
+    public AdaptiveConcurrencyLimiter database() {
+        return database;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    public String retryAfterSeconds() {
+        return Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    /**
+     * Finishes an admitted request by its response status. Server errors count as overload, except a 503 from the
+     * database limit: that request was shed cheaply and must not shrink the request limit as well.
+     */
+    public void completeRequest(long startedAt, int status) {
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            request.onIgnore();
+        } else if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            request.onDropped();
+        } else {
+            request.onSuccess(startedAt);
+        }
+    }
+
+    /**
+     * Runs {@code read} under the database limit, failing with {@link LoadSheddingException} when it is reached.
+     * Cancelled reads, e.g. hedges that lost the race, are not sampled.
+     */
+    public <T> Mono<T> limitDatabase(Mono<T> read) {
+        if (!enabled) {
+            return read;
+        }
+        return Mono.defer(() -> {
+            if (!database.tryAcquire()) {
+                return Mono.error(new LoadSheddingException(DATABASE, retryAfter));
+            }
+            long startedAt = System.nanoTime();
+            return read.doFinally(signal -> {
+                if (signal == SignalType.ON_ERROR) {
+                    database.onDropped();
+                } else if (signal == SignalType.CANCEL) {
+                    database.onIgnore();
+                } else {
+                    database.onSuccess(startedAt);
+                }
+            });
+        });
+    }
+}
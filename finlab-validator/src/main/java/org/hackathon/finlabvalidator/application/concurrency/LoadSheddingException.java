@@ -0,0 +1,21 @@
+package org.hackathon.finlabvalidator.application.concurrency;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a call is rejected by a concurrency limit; answered with {@code 503 Service Unavailable}.
+ */
+public class LoadSheddingException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoadSheddingException(String path, Duration retryAfter) {
+        // Thrown in bulk exactly when the service is overloaded, so skip the stack trace
+        super("Concurrency limit for " + path + " reached", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
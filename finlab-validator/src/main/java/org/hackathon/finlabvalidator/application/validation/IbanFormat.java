@@ -0,0 +1,224 @@
+package org.hackathon.finlabvalidator.application.validation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+public final class IbanFormat {
+
+    private static final int MIN_LENGTH = 15;
+    private static final int MAX_LENGTH = 34;
+    private static final int BBAN_OFFSET = 4;
+    private static final byte DIGIT = 'n';
+    private static final byte LETTER = 'a';
+    private static final byte ALPHANUMERIC = 'c';
+
+    // ISO 13616 BBAN structures as published in the SWIFT IBAN registry
+    private static final Map<String, String> BBAN_FORMATS = Map.ofEntries(
+            Map.entry("AD", "4!n4!n12!c"),
+            Map.entry("AE", "3!n16!n"),
+            Map.entry("AL", "8!n16!c"),
+            Map.entry("AT", "5!n11!n"),
+            Map.entry("AZ", "4!a20!c"),
+            Map.entry("BA", "3!n3!n8!n2!n"),
+            Map.entry("BE", "3!n7!n2!n"),
+            Map.entry("BG", "4!a4!n2!n8!c"),
+            Map.entry("BH", "4!a14!c"),
+            Map.entry("BI", "5!n5!n11!n2!n"),
+            Map.entry("BR", "8!n5!n10!n1!a1!c"),
+            Map.entry("BY", "4!c4!n16!c"),
+            Map.entry("CH", "5!n12!c"),
+            Map.entry("CR", "4!n14!n"),
+            Map.entry("CY", "3!n5!n16!c"),
+            Map.entry("CZ", "4!n6!n10!n"),
+            Map.entry("DE", "8!n10!n"),
+            Map.entry("DJ", "5!n5!n11!n2!n"),
+            Map.entry("DK", "4!n9!n1!n"),
+            Map.entry("DO", "4!c20!n"),
+            Map.entry("EE", "2!n2!n11!n1!n"),
+            Map.entry("EG", "4!n4!n17!n"),
+            Map.entry("ES", "4!n4!n1!n1!n10!n"),
+            Map.entry("FI", "3!n11!n"),
+            Map.entry("FK", "2!a12!n"),
+            Map.entry("FO", "4!n9!n1!n"),
+            Map.entry("FR", "5!n5!n11!c2!n"),
+            Map.entry("GB", "4!a6!n8!n"),
+            Map.entry("GE", "2!a16!n"),
+            Map.entry("GI", "4!a15!c"),
+            Map.entry("GL", "4!n9!n1!n"),
+            Map.entry("GR", "3!n4!n16!c"),
+            Map.entry("GT", "4!c20!c"),
+            Map.entry("HR", "7!n10!n"),
+            Map.entry("HU", "3!n4!n1!n15!n1!n"),
+            Map.entry("IE", "4!a6!n8!n"),
+            Map.entry("IL", "3!n3!n13!n"),
+            Map.entry("IQ", "4!a3!n12!n"),
+            Map.entry("IS", "4!n2!n6!n10!n"),
+            Map.entry("IT", "1!a5!n5!n12!c"),
+            Map.entry("JO", "4!a4!n18!c"),
+            Map.entry("KW", "4!a22!c"),
+            Map.entry("KZ", "3!n13!c"),
+            Map.entry("LB", "4!n20!c"),
+            Map.entry("LC", "4!a24!c"),
+            Map.entry("LI", "5!n12!c"),
+            Map.entry("LT", "5!n11!n"),
+            Map.entry("LU", "3!n13!c"),
+            Map.entry("LV", "4!a13!c"),
+            Map.entry("LY", "3!n3!n15!n"),
+            Map.entry("MC", "5!n5!n11!c2!n"),
+            Map.entry("MD", "2!c18!c"),
+            Map.entry("ME", "3!n13!n2!n"),
+            Map.entry("MK", "3!n10!c2!n"),
+            Map.entry("MN", "4!n12!n"),
+            Map.entry("MR", "5!n5!n11!n2!n"),
+            Map.entry("MT", "4!a5!n18!c"),
+            Map.entry("MU", "4!a2!n2!n12!n3!n3!a"),
+            Map.entry("NI", "4!a20!n"),
+            Map.entry("NL", "4!a10!n"),
+            Map.entry("NO", "4!n6!n1!n"),
+            Map.entry("OM", "3!n16!c"),
+            Map.entry("PK", "4!a16!c"),
+            Map.entry("PL", "8!n16!n"),
+            Map.entry("PS", "4!a21!c"),
+            Map.entry("PT", "4!n4!n11!n2!n"),
+            Map.entry("QA", "4!a21!c"),
+            Map.entry("RO", "4!a16!c"),
+            Map.entry("RS", "3!n13!n2!n"),
+            Map.entry("RU", "9!n5!n15!c"),
+            Map.entry("SA", "2!n18!c"),
+            Map.entry("SC", "4!a2!n2!n16!n3!a"),
+            Map.entry("SD", "2!n12!n"),
+            Map.entry("SE", "3!n16!n1!n"),
+            Map.entry("SI", "5!n8!n2!n"),
+            Map.entry("SK", "4!n6!n10!n"),
+            Map.entry("SM", "1!a5!n5!n12!c"),
+            Map.entry("SO", "4!n3!n12!n"),
+            Map.entry("ST", "4!n4!n11!n2!n"),
+            Map.entry("SV", "4!a20!n"),
+            Map.entry("TL", "3!n14!n2!n"),
+            Map.entry("TN", "2!n3!n13!n2!n"),
+            Map.entry("TR", "5!n1!n16!c"),
+            Map.entry("UA", "6!n19!c"),
+            Map.entry("VA", "3!n15!n"),
+            Map.entry("VG", "4!a16!n"),
+            Map.entry("XK", "4!n10!n2!n"),
+            Map.entry("YE", "4!a4!n18!c")
+    );
+
+    private static final byte[][] BBAN_CLASSES = new byte[26 * 26][];
+
+    static {
+        BBAN_FORMATS.forEach((country, format) ->
+                BBAN_CLASSES[countryIndex(country.charAt(0), country.charAt(1))] = expand(format));
+    }
+
+    private IbanFormat() {
+    }
+
+    public static String canonicalize(String iban) {
+        if (iban == null) {
+            return null;
+        }
+
+        int i = 0;
+        int length = iban.length();
+        while (i < length) {
+            char c = iban.charAt(i);
+            if (c == ' ' || (c >= 'a' && c <= 'z')) {
+                break;
+            }
+            i++;
+        }
+        if (i == length) {
+            return iban;
+        }
+
+        StringBuilder canonical = new StringBuilder(length);
+        canonical.append(iban, 0, i);
+        for (; i < length; i++) {
+            char c = iban.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            canonical.append(c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+        }
+        return canonical.toString();
+    }
+
+    public static boolean isValid(CharSequence iban) {
+        if (iban == null) {
+            return false;
+        }
+
+        int length = iban.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+
+        char first = iban.charAt(0);
+        char second = iban.charAt(1);
+        if (!isLetter(first) || !isLetter(second) || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+            return false;
+        }
+
+        byte[] classes = BBAN_CLASSES[countryIndex(first, second)];
+        if (classes == null || classes.length != length - BBAN_OFFSET) {
+            return false;
+        }
+
+        for (int i = BBAN_OFFSET; i < length; i++) {
+            if (!matches(classes[i - BBAN_OFFSET], iban.charAt(i))) {
+                return false;
+            }
+        }
+
+        return mod97(iban) == 1;
+    }
+
+    private static int mod97(CharSequence iban) {
+        int length = iban.length();
+        int remainder = 0;
+        for (int n = 0; n < length; n++) {
+            char c = iban.charAt((n + BBAN_OFFSET) % length);
+            if (isDigit(c)) {
+                remainder = (remainder * 10 + (c - '0')) % 97;
+            } else {
+                remainder = (remainder * 100 + (c - 'A' + 10)) % 97;
+            }
+        }
+        return remainder;
+    }
+
+    private static boolean matches(byte charClass, char c) {
+        return switch (charClass) {
+            case DIGIT -> isDigit(c);
+            case LETTER -> isLetter(c);
+            default -> isDigit(c) || isLetter(c);
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static int countryIndex(char first, char second) {
+        return (first - 'A') * 26 + (second - 'A');
+    }
+
+    private static byte[] expand(String format) {
+        StringBuilder classes = new StringBuilder();
+        int count = 0;
+        for (char c : format.toCharArray()) {
+            if (isDigit(c)) {
+                count = count * 10 + (c - '0');
+            } else if (c == DIGIT || c == LETTER || c == ALPHANUMERIC) {
+                classes.repeat(c, count);
+                count = 0;
+            }
+        }
+        return classes.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,104 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hackathon.finlabvalidator.application.concurrency.AdaptiveConcurrencyLimiter;
+import org.hackathon.finlabvalidator.application.concurrency.ConcurrencyLimits;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds API requests beyond the adaptive request limit with {@code 503} and {@code Retry-After}. Runs after the
+ * observation filter, so rejected requests still show up in {@code http.server.requests}, and after
+ * {@link ApiKeyFilter}, so unauthenticated requests neither take a slot nor feed their fast 401s into the baseline.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimits limits;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!limits.isLimited(request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limits.request();
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, limits.retryAfterSeconds());
+            response.getWriter().write("Service overloaded");
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limiter.onDropped();
+            throw e;
+        }
+
+        // Controllers return Monos, so the response is usually written after doFilter has returned
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new ReleaseOnCompletion(startedAt));
+        } else {
+            limits.completeRequest(startedAt, response.getStatus());
+        }
+    }
+
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long startedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limits.completeRequest(startedAt, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limits.request().onDropped();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limits.request().onDropped();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the JDBC pool explicitly. Spring Boot's DataSource auto-configuration backs off as soon as an R2DBC
+ * {@code ConnectionFactory} exists, but the {@code reactive} profile still needs JDBC for Flyway, the cache warmer,
+ * the change listener and the in-memory index rebuild.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connections to the Redis nodes that hold the IBAN cache when it is sharded ({@code cache.iban.redis.nodes}).
+ * They are kept apart from the auto-configured connection factory, which keeps serving warm-up coordination,
+ * the hot set and near-cache invalidations. They share the auto-configured Lettuce client resources, so their
+ * command latencies are recorded like those of the default connection.
+ */
+public class IbanCacheRedisNodes implements DisposableBean {
+
+    private final List<String> names;
+    private final List<LettuceConnectionFactory> factories = new ArrayList<>();
+    private final List<ReactiveStringRedisTemplate> templates = new ArrayList<>();
+
+    public IbanCacheRedisNodes(String nodes, Duration timeout, ClientResources clientResources) {
+        this.names = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .toList();
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientBuilder = LettuceClientConfiguration.builder()
+                .commandTimeout(timeout);
+        if (clientResources != null) {
+            clientBuilder.clientResources(clientResources);
+        }
+        LettuceClientConfiguration clientConfiguration = clientBuilder.build();
+        for (String node : names) {
+            int separator = node.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("IBAN cache node '" + node + "' must be given as host:port");
+            }
+            RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                    node.substring(0, separator), Integer.parseInt(node.substring(separator + 1)));
+            LettuceConnectionFactory factory = new LettuceConnectionFactory(configuration, clientConfiguration);
+            factory.afterPropertiesSet();
+            factory.start();
+            factories.add(factory);
+            templates.add(new ReactiveStringRedisTemplate(factory));
+        }
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public List<ReactiveStringRedisTemplate> templates() {
+        return templates;
+    }
+
+    @Override
+    public void destroy() {
+        factories.forEach(LettuceConnectionFactory::destroy);
+    }
+}
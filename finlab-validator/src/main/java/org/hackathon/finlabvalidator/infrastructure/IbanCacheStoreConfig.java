@@ -0,0 +1,54 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import org.hackathon.finlabvalidator.application.cache.IIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheLayout;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheShardRing;
+import org.hackathon.finlabvalidator.application.cache.ShardedIbanCacheStore;
+import io.lettuce.core.resource.ClientResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class IbanCacheStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IbanCacheStoreConfig.class);
+
+    @Bean
+    public IbanCacheRedisNodes ibanCacheRedisNodes(@Value("${cache.iban.redis.nodes:}") String nodes,
+                                                   @Value("${spring.data.redis.timeout:6000}") Duration timeout,
+                                                   ObjectProvider<ClientResources> clientResources) {
+        return new IbanCacheRedisNodes(nodes, timeout, clientResources.getIfAvailable());
+    }
+
+    @Bean
+    public IIbanCacheStore ibanCacheStore(ReactiveStringRedisTemplate redis,
+                                          IbanCacheRedisNodes nodes,
+                                          @Value("${cache.iban.layout:string}") IbanCacheLayout layout,
+                                          @Value("${cache.iban.max-entries}") long maxEntries,
+                                          @Value("${cache.iban.hash.entries-per-bucket:64}") int entriesPerBucket,
+                                          @Value("${cache.iban.write.chunk-size:1000}") int writeChunkSize,
+                                          @Value("${cache.iban.write.max-in-flight:4}") int maxInFlightWrites) {
+        log.info("IBAN cache uses the {} layout (write chunks of {}, at most {} in flight)",
+                layout, writeChunkSize, maxInFlightWrites);
+        if (nodes.names().isEmpty()) {
+            return layout.createStore(redis, layout.defaultKeyPrefix(), maxEntries, entriesPerBucket,
+                    writeChunkSize, maxInFlightWrites);
+        }
+
+        long entriesPerNode = (maxEntries + nodes.names().size() - 1) / nodes.names().size();
+        List<IIbanCacheStore> shards = nodes.templates().stream()
+                .map(template -> layout.createStore(template, layout.defaultKeyPrefix(), entriesPerNode,
+                        entriesPerBucket, writeChunkSize, maxInFlightWrites))
+                .toList();
+        log.info("IBAN cache is sharded over {} Redis nodes: {}", shards.size(), nodes.names());
+        return new ShardedIbanCacheStore(shards, nodes.templates(), new IbanCacheShardRing(nodes.names()), redis);
+    }
+}
@@ -0,0 +1,50 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports the IBAN cache warm-up in the {@code readiness} health group. With {@code cache.iban.warmup.readiness.hold}
+ * the replica reports {@code WARMING} until the configured share of the cache is warm or {@code max-wait} has passed;
+ * otherwise it is always up and only shows the progress. {@code WARMING} is ranked below {@code UP} in the main health
+ * endpoint and maps to {@code 503} only in the readiness group, so a warming replica is taken out of the load balancer
+ * without looking unhealthy anywhere else.
+ */
+@Component("ibanWarmup")
+public class IbanWarmupHealthIndicator implements HealthIndicator {
+
+    public static final Status WARMING = new Status("WARMING", "IBAN cache warm-up in progress");
+
+    private final IbanWarmupState state;
+    private final boolean hold;
+    private final double minWarmRatio;
+    private final Duration maxWait;
+    private final long createdAtNanos = System.nanoTime();
+
+    public IbanWarmupHealthIndicator(IbanWarmupState state,
+                                     @Value("${cache.iban.warmup.readiness.hold:false}") boolean hold,
+                                     @Value("${cache.iban.warmup.readiness.min-warm-percent:100}") double minWarmPercent,
+                                     @Value("${cache.iban.warmup.readiness.max-wait:5m}") Duration maxWait) {
+        this.state = state;
+        this.hold = hold;
+        this.minWarmRatio = minWarmPercent / 100;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Health health() {
+        boolean warm = state.isWarm(minWarmRatio);
+        boolean waitedOut = System.nanoTime() - createdAtNanos > maxWait.toNanos();
+        Health.Builder builder = !hold || warm || waitedOut ? Health.up() : Health.status(WARMING);
+        return builder
+                .withDetails(state.details())
+                .withDetail("warm", warm)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupState;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IbanWarmupInfoContributor implements InfoContributor {
+
+    private final IbanWarmupState state;
+
+    public IbanWarmupInfoContributor(IbanWarmupState state) {
+        this.state = state;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("ibanWarmup", state.details());
+    }
+}
@@ -0,0 +1,20 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes Lettuce command latencies ({@code lettuce.command.completion} and {@code lettuce.command.firstresponse})
+     * with histogram buckets, so Redis percentiles can be aggregated across replicas in Prometheus.
+     */
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .build();
+    }
+}
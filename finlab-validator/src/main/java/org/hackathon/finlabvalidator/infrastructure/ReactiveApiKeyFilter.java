@@ -0,0 +1,52 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ReactiveApiKeyFilter implements WebFilter {
+
+    private static final String API_KEY_HEADER = "X-API-KEY";
+    // Probes and the Prometheus scrape carry no API key
+    private static final List<String> PUBLIC_PATHS = List.of("/actuator/health", "/actuator/prometheus");
+    private static final byte[] UNAUTHORIZED_BODY = "Unauthorized".getBytes(StandardCharsets.UTF_8);
+    private final String expectedApiKey;
+
+    public ReactiveApiKeyFilter(@Value("${security.api-key}") String expectedApiKey) {
+        this.expectedApiKey = expectedApiKey;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (PUBLIC_PATHS.stream().anyMatch(path::startsWith)) {
+            return chain.filter(exchange);
+        }
+
+        String apiKey = exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER);
+
+        if (apiKey == null || !apiKey.equals(expectedApiKey)) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            DataBuffer body = response.bufferFactory().wrap(UNAUTHORIZED_BODY);
+            return response.writeWith(Mono.just(body));
+        }
+
+        return chain.filter(exchange);
+    }
+}
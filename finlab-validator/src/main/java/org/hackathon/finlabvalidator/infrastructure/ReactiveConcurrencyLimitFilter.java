@@ -0,0 +1,66 @@
+package org.hackathon.finlabvalidator.infrastructure;
+
+import org.hackathon.finlabvalidator.application.concurrency.AdaptiveConcurrencyLimiter;
+import org.hackathon.finlabvalidator.application.concurrency.ConcurrencyLimits;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link ConcurrencyLimitFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ReactiveConcurrencyLimitFilter implements WebFilter {
+
+    private static final byte[] OVERLOADED_BODY = "Service overloaded".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrencyLimits limits;
+
+    public ReactiveConcurrencyLimitFilter(ConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!limits.isLimited(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limits.request();
+        if (!limiter.tryAcquire()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, limits.retryAfterSeconds());
+            DataBuffer body = response.bufferFactory().wrap(OVERLOADED_BODY);
+            return response.writeWith(Mono.just(body));
+        }
+
+        long startedAt = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.ON_ERROR) {
+                        limiter.onDropped();
+                    } else if (signal == SignalType.CANCEL) {
+                        limiter.onIgnore();
+                    } else {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        limits.completeRequest(startedAt, status != null ? status.value() : HttpStatus.OK.value());
+                    }
+                });
+    }
+}
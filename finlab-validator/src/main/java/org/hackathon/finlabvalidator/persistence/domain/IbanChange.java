@@ -0,0 +1,17 @@
+package org.hackathon.finlabvalidator.persistence.domain;
+
+/**
+ * A row change announced on {@code iban_changes}. {@code status} is {@code null} for a deleted row and
+ * {@code previousIban} holds the old value when the IBAN itself was renamed.
+ */
+public record IbanChange(
+        long id,
+        String iban,
+        IbanStatus status,
+        long updatedAt,
+        String previousIban
+){
+    public boolean isDeleted() {
+        return status == null;
+    }
+}
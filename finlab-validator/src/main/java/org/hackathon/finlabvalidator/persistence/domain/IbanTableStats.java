@@ -0,0 +1,7 @@
+package org.hackathon.finlabvalidator.persistence.domain;
+
+public record IbanTableStats(
+        long minId,
+        long maxId,
+        long rowCount
+){}
@@ -0,0 +1,6 @@
+package org.hackathon.finlabvalidator.persistence.domain;
+
+public record IbanValidationResult(
+        String iban,
+        IbanStatus status
+) {}
@@ -15,6 +15,7 @@ public record TestResultSummary(
         Long maxResponseTime,
         Long p90ResponseTime,
         Long p95ResponseTime,
+        Long p99ResponseTime,
         Double throughput
 ) {
 }
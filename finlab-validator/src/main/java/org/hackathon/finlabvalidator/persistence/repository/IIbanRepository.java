@@ -1,12 +1,21 @@
 package org.hackathon.finlabvalidator.persistence.repository;
 
+import org.hackathon.finlabvalidator.persistence.domain.IbanChange;
 import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
-import org.hackathon.finlabvalidator.persistence.domain.PaginatedResult;
+import org.hackathon.finlabvalidator.persistence.domain.IbanTableStats;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface IIbanRepository {
     Optional<IbanDto> findByIban(String iban);
+    List<IbanDto> findAllByIban(Collection<String> ibans);
     Optional<IbanDto> findFirstIban();
-    PaginatedResult<IbanDto> findAll(int page, int pageSize);
+    long count();
+    IbanTableStats stats();
+    long copyAll(long limit, IbanRowHandler handler);
+    long copyRange(long afterId, long upToId, long limit, IbanRowHandler handler);
+    List<IbanChange> findChangedAfter(long updatedAt, long lastId, int limit);
+    long currentTimestamp();
 }
@@ -0,0 +1,9 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveAuthSessionRepository {
+    Mono<AuthSession> save(AuthSession session);
+    Mono<AuthSession> findByTokenHash(String tokenHash);
+}
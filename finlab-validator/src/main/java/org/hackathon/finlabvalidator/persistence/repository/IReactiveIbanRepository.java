@@ -0,0 +1,12 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface IReactiveIbanRepository {
+    Mono<IbanDto> findByIban(String iban);
+    Flux<IbanDto> findAllByIban(Collection<String> ibans);
+}
@@ -0,0 +1,132 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses the PostgreSQL binary COPY format for {@code (id bigint, iban varchar, status text)} tuples.
+ * IBANs and statuses are read into reused buffers, so no objects are created per row.
+ */
+public final class IbanCopyParser {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final IbanStatus[] STATUSES = IbanStatus.values();
+    private static final byte[][] STATUS_LABELS = Arrays.stream(STATUSES)
+            .map(status -> status.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+    private static final int FIELD_COUNT = 3;
+    private static final int TRAILER = -1;
+
+    private final DataInputStream in;
+    private final AsciiSequence iban = new AsciiSequence(new byte[64]);
+    private final byte[] status = new byte[16];
+
+    public IbanCopyParser(InputStream input) {
+        this.in = new DataInputStream(input);
+    }
+
+    public long parse(IbanRowHandler handler) throws IOException {
+        readHeader();
+        long rows = 0;
+        while (true) {
+            short fields = in.readShort();
+            if (fields == TRAILER) {
+                return rows;
+            }
+            if (fields != FIELD_COUNT) {
+                throw new IOException("Expected " + FIELD_COUNT + " fields per row, got " + fields);
+            }
+
+            if (in.readInt() != Long.BYTES) {
+                throw new IOException("Unexpected id field length in row " + rows);
+            }
+            long id = in.readLong();
+
+            int ibanLength = fieldLength(rows);
+            iban.ensureCapacity(ibanLength);
+            in.readFully(iban.bytes, 0, ibanLength);
+            iban.length = ibanLength;
+
+            int statusLength = fieldLength(rows);
+            if (statusLength > status.length) {
+                throw new IOException("Unexpected status length " + statusLength + " in row " + rows);
+            }
+            in.readFully(status, 0, statusLength);
+
+            handler.accept(id, iban, statusOf(statusLength, rows));
+            rows++;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        byte[] signature = new byte[SIGNATURE.length];
+        in.readFully(signature);
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw new IOException("Not a binary COPY stream");
+        }
+        in.readInt();
+        in.skipNBytes(in.readInt());
+    }
+
+    private int fieldLength(long row) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Unexpected NULL in row " + row);
+        }
+        return length;
+    }
+
+    private IbanStatus statusOf(int length, long row) throws IOException {
+        for (int i = 0; i < STATUS_LABELS.length; i++) {
+            if (Arrays.equals(STATUS_LABELS[i], 0, STATUS_LABELS[i].length, status, 0, length)) {
+                return STATUSES[i];
+            }
+        }
+        throw new IOException("Unknown status '" + new String(status, 0, length, StandardCharsets.US_ASCII)
+                + "' in row " + row);
+    }
+
+    private static final class AsciiSequence implements CharSequence {
+
+        private byte[] bytes;
+        private int length;
+
+        private AsciiSequence(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = new byte[Math.max(capacity, bytes.length * 2)];
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) (bytes[index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
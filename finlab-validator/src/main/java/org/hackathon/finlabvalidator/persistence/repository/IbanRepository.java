@@ -1,18 +1,31 @@
 package org.hackathon.finlabvalidator.persistence.repository;
 
+import org.hackathon.finlabvalidator.persistence.domain.IbanChange;
 import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.hackathon.finlabvalidator.persistence.domain.IbanTableStats;
 import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
-import org.hackathon.finlabvalidator.persistence.domain.PaginatedResult;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public class IbanRepository implements IIbanRepository {
 
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final String EPOCH_MICROS = "(extract(epoch FROM %s) * 1000000)::bigint";
+
     private final JdbcTemplate jdbcTemplate;
     private final String schemaName;
 
@@ -34,6 +47,24 @@ public class IbanRepository implements IIbanRepository {
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
+    public List<IbanDto> findAllByIban(Collection<String> ibans) {
+        if (ibans.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = String.format("SELECT id, iban, status FROM %s.iban WHERE iban = ANY(?)", schemaName);
+        return jdbcTemplate.query(sql, ps -> {
+                    Array array = ps.getConnection().createArrayOf("varchar", ibans.toArray());
+                    ps.setArray(1, array);
+                }, (rs, rowNum) ->
+                        new IbanDto(
+                                rs.getLong("id"),
+                                rs.getString("iban"),
+                                IbanStatus.valueOf(rs.getString("status"))
+                        )
+        );
+    }
+
     public Optional<IbanDto> findFirstIban() {
         String sql = String.format("SELECT id, iban, status FROM %s.iban ORDER BY id LIMIT 1", schemaName);
         return Optional.ofNullable(jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
@@ -46,29 +77,68 @@ public class IbanRepository implements IIbanRepository {
     }
 
     @Override
-    public PaginatedResult<IbanDto> findAll(int page, int pageSize) {
-        String countSql = String.format("SELECT COUNT(*) FROM %s.iban", schemaName);
-        Long totalCount = jdbcTemplate.queryForObject(countSql, Long.class);
+    public long count() {
+        Long totalCount = jdbcTemplate.queryForObject(
+                String.format("SELECT COUNT(*) FROM %s.iban", schemaName), Long.class);
+        return totalCount == null ? 0 : totalCount;
+    }
 
-        if (totalCount == null || totalCount == 0) {
-            return new PaginatedResult<>(List.of(), 0, pageSize, page);
-        }
+    @Override
+    public IbanTableStats stats() {
+        String sql = String.format("SELECT COALESCE(MIN(id), 0) AS min_id, COALESCE(MAX(id), 0) AS max_id, COUNT(*) AS row_count FROM %s.iban",
+                schemaName);
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+                new IbanTableStats(
+                        rs.getLong("min_id"),
+                        rs.getLong("max_id"),
+                        rs.getLong("row_count")
+                ));
+    }
 
-        int offset = (page - 1) * pageSize;
+    @Override
+    public long copyAll(long limit, IbanRowHandler handler) {
+        return copyRange(0, Long.MAX_VALUE, limit, handler);
+    }
 
-        String dataSql = String.format(
-                "SELECT id, iban, status FROM %s.iban ORDER BY id LIMIT ? OFFSET ?",
-                schemaName
-        );
+    @Override
+    public long copyRange(long afterId, long upToId, long limit, IbanRowHandler handler) {
+        String sql = String.format(
+                "COPY (SELECT id, iban, status::text FROM %s.iban WHERE id > %d AND id <= %d ORDER BY id LIMIT %d) "
+                        + "TO STDOUT (FORMAT binary)",
+                schemaName, afterId, upToId, limit);
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (InputStream in = new BufferedInputStream(new PGCopyInputStream(pgConnection, sql), COPY_BUFFER_SIZE)) {
+                return new IbanCopyParser(in).parse(handler);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Binary COPY of the iban table failed", e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
 
-        List<IbanDto> items = jdbcTemplate.query(dataSql, new Object[]{pageSize, offset}, (rs, rowNum) ->
-                new IbanDto(
-                        rs.getLong("id"),
-                        rs.getString("iban"),
-                        IbanStatus.valueOf(rs.getString("status"))
-                )
-        );
+    @Override
+    public List<IbanChange> findChangedAfter(long updatedAt, long lastId, int limit) {
+        String updatedAtMicros = String.format(EPOCH_MICROS, "updated_at");
+        String sql = String.format("SELECT id, iban, status, %s AS updated_at_micros FROM %s.iban "
+                        + "WHERE (updated_at, id) > (TIMESTAMPTZ 'epoch' + ? * INTERVAL '1 microsecond', ?) "
+                        + "ORDER BY updated_at, id LIMIT ?",
+                updatedAtMicros, schemaName);
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+                        new IbanChange(
+                                rs.getLong("id"),
+                                rs.getString("iban"),
+                                IbanStatus.valueOf(rs.getString("status")),
+                                rs.getLong("updated_at_micros"),
+                                null
+                        )
+                , updatedAt, lastId, limit);
+    }
 
-        return new PaginatedResult<>(items, totalCount, pageSize, page);
+    @Override
+    public long currentTimestamp() {
+        Long now = jdbcTemplate.queryForObject(
+                "SELECT " + String.format(EPOCH_MICROS, "clock_timestamp()"), Long.class);
+        return now == null ? 0 : now;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+
+/**
+ * Receives rows of a bulk extraction. {@code iban} is a view over a reused buffer and is only valid during the call.
+ */
+@FunctionalInterface
+public interface IbanRowHandler {
+    void accept(long id, CharSequence iban, IbanStatus status);
+}
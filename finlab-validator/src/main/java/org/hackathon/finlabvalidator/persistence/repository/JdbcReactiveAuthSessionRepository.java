@@ -0,0 +1,33 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@Repository
+@Profile("!reactive")
+public class JdbcReactiveAuthSessionRepository implements IReactiveAuthSessionRepository {
+
+    private final IAuthSessionRepository repository;
+    private final Scheduler blockingScheduler;
+
+    public JdbcReactiveAuthSessionRepository(IAuthSessionRepository repository, Scheduler blockingScheduler) {
+        this.repository = repository;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @Override
+    public Mono<AuthSession> save(AuthSession session) {
+        return Mono.fromCallable(() -> repository.save(session))
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<AuthSession> findByTokenHash(String tokenHash) {
+        return Mono.fromCallable(() -> repository.findByTokenHash(tokenHash))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(blockingScheduler);
+    }
+}
@@ -0,0 +1,37 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+
+@Repository
+@Profile("!reactive")
+public class JdbcReactiveIbanRepository implements IReactiveIbanRepository {
+
+    private final IIbanRepository repository;
+    private final Scheduler blockingScheduler;
+
+    public JdbcReactiveIbanRepository(IIbanRepository repository, Scheduler blockingScheduler) {
+        this.repository = repository;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @Override
+    public Mono<IbanDto> findByIban(String iban) {
+        return Mono.fromCallable(() -> repository.findByIban(iban))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Flux<IbanDto> findAllByIban(Collection<String> ibans) {
+        return Mono.fromCallable(() -> repository.findAllByIban(ibans))
+                .flatMapIterable(found -> found)
+                .subscribeOn(blockingScheduler);
+    }
+}
@@ -0,0 +1,97 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import io.r2dbc.spi.Readable;
+import org.hackathon.finlabvalidator.persistence.domain.AuthSession;
+import org.hackathon.finlabvalidator.persistence.domain.SessionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@Profile("reactive")
+public class R2dbcAuthSessionRepository implements IReactiveAuthSessionRepository {
+
+    private final DatabaseClient databaseClient;
+    private final String schemaName;
+
+    public R2dbcAuthSessionRepository(DatabaseClient databaseClient,
+                                      @Value("${spring.datasource.schema}") String schemaName) {
+        this.databaseClient = databaseClient;
+        this.schemaName = validateSchemaName(schemaName);
+    }
+
+    @Override
+    public Mono<AuthSession> save(AuthSession session) {
+        if (session.getId() == null) {
+            return insert(session);
+        } else {
+            return update(session);
+        }
+    }
+
+    private String validateSchemaName(String schemaName) {
+        if (schemaName == null || !schemaName.matches("^[a-zA-Z0-9_]+$")) {
+            throw new IllegalArgumentException("Invalid schema name: " + schemaName);
+        }
+        return schemaName;
+    }
+
+    private Mono<AuthSession> insert(AuthSession session) {
+        String sql = String.format("INSERT INTO %s.auth_sessions (token_hash, username, login_time, logout_time, status, created_at) " +
+                "VALUES (:tokenHash, :username, :loginTime, :logoutTime, :status, :createdAt) RETURNING id", schemaName);
+
+        return databaseClient.sql(sql)
+                .bind("tokenHash", session.getTokenHash())
+                .bind("username", session.getUsername())
+                .bind("loginTime", session.getLoginTime())
+                .bind("logoutTime", Parameter.fromOrEmpty(session.getLogoutTime(), LocalDateTime.class))
+                .bind("status", session.getStatus().name())
+                .bind("createdAt", session.getCreatedAt())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    session.setId(id);
+                    return session;
+                });
+    }
+
+    private Mono<AuthSession> update(AuthSession session) {
+        String sql = String.format("UPDATE %s.auth_sessions SET logout_time = :logoutTime, status = :status " +
+                "WHERE id = :id", schemaName);
+
+        return databaseClient.sql(sql)
+                .bind("logoutTime", Parameter.fromOrEmpty(session.getLogoutTime(), LocalDateTime.class))
+                .bind("status", session.getStatus().name())
+                .bind("id", session.getId())
+                .then()
+                .thenReturn(session);
+    }
+
+    @Override
+    public Mono<AuthSession> findByTokenHash(String tokenHash) {
+        String sql = String.format("SELECT id, token_hash, username, login_time, logout_time, status, created_at " +
+                "FROM %s.auth_sessions WHERE token_hash = :tokenHash", schemaName);
+
+        return databaseClient.sql(sql)
+                .bind("tokenHash", tokenHash)
+                .map(R2dbcAuthSessionRepository::toSession)
+                .first();
+    }
+
+    private static AuthSession toSession(Readable row) {
+        return new AuthSession(
+                row.get("id", Long.class),
+                row.get("token_hash", String.class),
+                row.get("username", String.class),
+                row.get("login_time", LocalDateTime.class),
+                row.get("logout_time", LocalDateTime.class),
+                SessionStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package org.hackathon.finlabvalidator.persistence.repository;
+
+import io.r2dbc.spi.Readable;
+import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+@Profile("reactive")
+public class R2dbcIbanRepository implements IReactiveIbanRepository {
+
+    private final DatabaseClient databaseClient;
+    private final String findByIbanSql;
+    private final String findAllByIbanSql;
+
+    public R2dbcIbanRepository(DatabaseClient databaseClient,
+                               @Value("${spring.datasource.schema}") String schemaName) {
+        this.databaseClient = databaseClient;
+        this.findByIbanSql = String.format(
+                "SELECT id, iban, status::text AS status FROM %s.iban WHERE iban = :iban", schemaName);
+        this.findAllByIbanSql = String.format(
+                "SELECT id, iban, status::text AS status FROM %s.iban WHERE iban = ANY(:ibans)", schemaName);
+    }
+
+    @Override
+    public Mono<IbanDto> findByIban(String iban) {
+        return databaseClient.sql(findByIbanSql)
+                .bind("iban", iban)
+                .map(R2dbcIbanRepository::toDto)
+                .first();
+    }
+
+    @Override
+    public Flux<IbanDto> findAllByIban(Collection<String> ibans) {
+        if (ibans.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return databaseClient.sql(findAllByIbanSql)
+                .bind("ibans", ibans.toArray(String[]::new))
+                .map(R2dbcIbanRepository::toDto)
+                .all();
+    }
+
+    private static IbanDto toDto(Readable row) {
+        return new IbanDto(
+                row.get("id", Long.class),
+                row.get("iban", String.class),
+                IbanStatus.valueOf(row.get("status", String.class))
+        );
+    }
+}
@@ -0,0 +1,30 @@
+ALTER TABLE hackathon.iban ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+CREATE INDEX idx_iban_updated_at ON hackathon.iban(updated_at, id);
+
+CREATE OR REPLACE FUNCTION hackathon.iban_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION hackathon.iban_notify_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('iban_changes', json_build_object(
+            'id', NEW.id,
+            'iban', NEW.iban,
+            'status', NEW.status,
+            'updatedAt', (extract(epoch FROM NEW.updated_at) * 1000000)::bigint
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER iban_touch_updated_at
+    BEFORE INSERT OR UPDATE OF iban, status ON hackathon.iban
+    FOR EACH ROW EXECUTE FUNCTION hackathon.iban_touch_updated_at();
+
+CREATE TRIGGER iban_notify_change
+    AFTER INSERT OR UPDATE OF iban, status ON hackathon.iban
+    FOR EACH ROW EXECUTE FUNCTION hackathon.iban_notify_change();
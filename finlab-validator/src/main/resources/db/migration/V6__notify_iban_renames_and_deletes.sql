@@ -0,0 +1,30 @@
+CREATE OR REPLACE FUNCTION hackathon.iban_notify_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('iban_changes', json_build_object(
+                'id', OLD.id,
+                'iban', OLD.iban,
+                'status', NULL,
+                'updatedAt', (extract(epoch FROM clock_timestamp()) * 1000000)::bigint,
+                'previousIban', NULL
+        )::text);
+    ELSE
+        PERFORM pg_notify('iban_changes', json_build_object(
+                'id', NEW.id,
+                'iban', NEW.iban,
+                'status', NEW.status,
+                'updatedAt', (extract(epoch FROM NEW.updated_at) * 1000000)::bigint,
+                'previousIban', CASE
+                    WHEN TG_OP = 'UPDATE' AND OLD.iban IS DISTINCT FROM NEW.iban THEN OLD.iban
+                END
+        )::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER iban_notify_change ON hackathon.iban;
+
+CREATE TRIGGER iban_notify_change
+    AFTER INSERT OR UPDATE OF iban, status OR DELETE ON hackathon.iban
+    FOR EACH ROW EXECUTE FUNCTION hackathon.iban_notify_change();
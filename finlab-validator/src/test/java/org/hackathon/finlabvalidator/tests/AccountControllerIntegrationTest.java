@@ -1,5 +1,7 @@
 package org.hackathon.finlabvalidator.tests;
 
+import org.hackathon.finlabvalidator.api.models.BatchValidationRequest;
+import org.hackathon.finlabvalidator.api.models.BatchValidationResponse;
 import org.hackathon.finlabvalidator.persistence.domain.IbanDto;
 import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
 import org.hackathon.finlabvalidator.persistence.repository.IbanRepository;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -90,4 +94,63 @@ class AccountControllerIntegrationTest {
         assertThat(cachedValueAfterSecond).isNotNull();
         assertThat(cachedValueAfterSecond).isEqualTo(cachedValueAfterFirst);
     }
+
+    @Test
+    void testValidateAccount_MatchingIfNoneMatch_ReturnsNotModified() {
+        IbanDto testIban = ibanRepository.findFirstIban().orElseThrow();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-API-KEY", "test-api-key");
+
+        ResponseEntity<IbanStatus> firstResponse = restTemplate.exchange(
+                baseUrl() + testIban.iban(),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                IbanStatus.class
+        );
+
+        assertThat(firstResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String etag = firstResponse.getHeaders().getETag();
+        assertThat(etag).isEqualTo("W/\"v1-" + testIban.status().name() + "\"");
+        assertThat(firstResponse.getHeaders().getCacheControl()).startsWith("max-age=");
+
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<byte[]> secondResponse = restTemplate.exchange(
+                baseUrl() + testIban.iban(),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                byte[].class
+        );
+
+        assertThat(secondResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(secondResponse.getBody()).isNull();
+        assertThat(secondResponse.getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void testValidateBatch_ReturnsStatusPerIban_AndCachesResults() {
+        IbanDto testIban = ibanRepository.findFirstIban().orElseThrow();
+        String unknownIban = "BG00BANK00000000000000";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-API-KEY", "test-api-key");
+        HttpEntity<BatchValidationRequest> entity = new HttpEntity<>(
+                new BatchValidationRequest(List.of(testIban.iban(), unknownIban)), headers);
+
+        ResponseEntity<BatchValidationResponse> response = restTemplate.exchange(
+                "http://localhost:" + port + "/api/v1/accounts:batch",
+                HttpMethod.POST,
+                entity,
+                BatchValidationResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().statuses()).containsEntry(testIban.iban(), testIban.status());
+        assertThat(response.getBody().statuses()).containsKey(unknownIban);
+        assertThat(response.getBody().statuses().get(unknownIban)).isNull();
+
+        String cachedValue = redis.opsForValue().get("iban:" + testIban.iban()).block();
+        assertThat(cachedValue).isEqualTo(testIban.status().name());
+    }
 }
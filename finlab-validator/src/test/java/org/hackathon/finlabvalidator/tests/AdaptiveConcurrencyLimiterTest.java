@@ -0,0 +1,118 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.concurrency.AdaptiveConcurrencyLimiter;
+import org.hackathon.finlabvalidator.application.concurrency.ConcurrencyLimits;
+import org.hackathon.finlabvalidator.application.concurrency.LoadSheddingException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldReject_WhenLimitIsReached() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(registry, "request", 2, 1, 10, 1.5,
+                Duration.ZERO);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(registry.counter("validator.concurrency.rejected", "path", "request").count()).isEqualTo(1);
+        assertThat(registry.get("validator.concurrency.inflight").tag("path", "request").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("validator.concurrency.limit").tag("path", "request").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void onSuccess_ShouldRaiseLimit_WhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 20; i++) {
+            round(limiter, 1);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void onSuccess_ShouldLowerLimit_WhenLatencyClimbs() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        for (int i = 0; i < 10; i++) {
+            round(limiter, 1);
+        }
+        int steadyLimit = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            round(limiter, 20);
+        }
+
+        assertThat(limiter.limit()).isLessThan(steadyLimit / 2);
+    }
+
+    @Test
+    void onDropped_ShouldBackOff_DownToMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.limit()).isEqualTo(90);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void limitDatabase_ShouldShed_WhenDatabaseLimitIsReached() {
+        ConcurrencyLimits limits = new ConcurrencyLimits(new SimpleMeterRegistry(), "/api/v1", true, Duration.ofSeconds(2),
+                1.5, Duration.ZERO, 10, 1, 10, 1, 1, 10, 0);
+        Disposable pending = limits.limitDatabase(Mono.never()).subscribe();
+
+        assertThatThrownBy(() -> limits.limitDatabase(Mono.just("row")).block())
+                .isInstanceOf(LoadSheddingException.class)
+                .satisfies(e -> assertThat(((LoadSheddingException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(2)));
+
+        pending.dispose();
+        assertThat(limits.database().inFlight()).isZero();
+        assertThat(limits.limitDatabase(Mono.just("row")).block()).isEqualTo("row");
+    }
+
+    @Test
+    void isLimited_ShouldSkipStreamsAndNonApiPaths() {
+        ConcurrencyLimits limits = new ConcurrencyLimits(new SimpleMeterRegistry(), "/api/v1", true, Duration.ofSeconds(1),
+                1.5, Duration.ZERO, 10, 1, 10, 10, 1, 10, 0);
+
+        assertThat(limits.isLimited("/api/v1/accounts/BG80BNBG96611020345678")).isTrue();
+        assertThat(limits.isLimited("/api/v1/accounts:batch")).isTrue();
+        assertThat(limits.isLimited("/api/v1/accounts:stream")).isFalse();
+        assertThat(limits.isLimited("/actuator/health")).isFalse();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), "database", initialLimit, 5, 1000, 1.5,
+                Duration.ZERO);
+    }
+
+    // Fills the current limit and completes every call with the given latency; a window closes every 10 calls
+    private static void round(AdaptiveConcurrencyLimiter limiter, long latencyMillis) {
+        int permits = limiter.limit();
+        for (int i = 0; i < permits; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        long startedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        for (int i = 0; i < permits; i++) {
+            limiter.onSuccess(startedAt);
+        }
+    }
+}
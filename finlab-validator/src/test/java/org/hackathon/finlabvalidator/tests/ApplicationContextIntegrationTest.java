@@ -0,0 +1,30 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationContextIntegrationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads_DefaultProfile_WithJdbcAndWithoutR2dbc() {
+        assertThat(context.getBeansOfType(DataSource.class)).hasSize(1);
+        assertThat(context.getBeansOfType(JdbcTemplate.class)).hasSize(1);
+        assertThat(context.getBeansOfType(Flyway.class)).hasSize(1);
+        assertThat(context.getBeansOfType(ConnectionFactory.class)).isEmpty();
+    }
+}
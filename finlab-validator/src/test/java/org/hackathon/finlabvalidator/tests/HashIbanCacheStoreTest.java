@@ -0,0 +1,51 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.HashIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheEntry;
+import org.hackathon.finlabvalidator.application.cache.IbanNegativeCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashIbanCacheStoreTest {
+
+    private static final String IBAN = "BG80BNBG96611020345678";
+    private static final String OTHER_IBAN = "BG18RZBB91550123456789";
+
+    private final LuaRedisTemplate redis = new LuaRedisTemplate();
+    private final HashIbanCacheStore store = new HashIbanCacheStore(redis, "ibanh:", 1, 1000, 1);
+
+    @Test
+    void get_ShouldReturnTombstone_AfterTombstoneOverwritesStatus() {
+        store.put(IBAN, "ALLOW", Duration.ofMinutes(10)).block();
+        assertThat(store.get(IBAN).block()).isEqualTo("ALLOW");
+
+        store.put(IBAN, IbanNegativeCache.TOMBSTONE, Duration.ofMinutes(1)).block();
+
+        assertThat(store.get(IBAN).block()).isEqualTo(IbanNegativeCache.TOMBSTONE);
+    }
+
+    @Test
+    void putAll_ShouldOnlyEvictTombstonedFields_FromStatusBucket() {
+        store.putAll(List.of(
+                new IbanCacheEntry(IBAN, "BLOCK", Duration.ofMinutes(10)),
+                new IbanCacheEntry(OTHER_IBAN, "REVIEW", Duration.ofMinutes(10)))).block();
+
+        store.putAll(List.of(new IbanCacheEntry(IBAN, IbanNegativeCache.TOMBSTONE, Duration.ofMinutes(1)))).block();
+
+        assertThat(store.getAll(List.of(IBAN, OTHER_IBAN)).block())
+                .containsExactly(IbanNegativeCache.TOMBSTONE, "REVIEW");
+    }
+
+    @Test
+    void get_ShouldReturnStatus_AfterStatusOverwritesTombstone() {
+        store.put(IBAN, IbanNegativeCache.TOMBSTONE, Duration.ofMinutes(1)).block();
+
+        store.put(IBAN, "REVIEW", Duration.ofMinutes(10)).block();
+
+        assertThat(store.get(IBAN).block()).isEqualTo("REVIEW");
+    }
+}
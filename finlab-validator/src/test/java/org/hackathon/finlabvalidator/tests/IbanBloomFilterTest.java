@@ -0,0 +1,66 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.IbanBloomFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanBloomFilterTest {
+
+    private static final int ENTRIES = 100_000;
+
+    @Test
+    void mightContain_ShouldNeverReturnFalse_ForInsertedIbans() {
+        IbanBloomFilter filter = IbanBloomFilter.create(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put(iban(i));
+        }
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(filter.mightContain(iban(i))).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    void mightContain_ShouldStayNearConfiguredFalsePositiveRate() {
+        IbanBloomFilter filter = IbanBloomFilter.create(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.put(iban(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = ENTRIES; i < 2 * ENTRIES; i++) {
+            if (filter.mightContain(iban(i))) {
+                falsePositives++;
+            }
+        }
+
+        double observedRate = (double) falsePositives / ENTRIES;
+        assertThat(observedRate).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(filter.sizeInBytes()).isLessThan(200_000);
+    }
+
+    @Test
+    void merge_ShouldContainIbansOfEveryPart() {
+        IbanBloomFilter first = IbanBloomFilter.create(ENTRIES, 0.01);
+        IbanBloomFilter second = IbanBloomFilter.create(ENTRIES, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            (i % 2 == 0 ? first : second).put(iban(i));
+        }
+
+        IbanBloomFilter merged = IbanBloomFilter.create(ENTRIES, 0.01);
+        merged.merge(first.toByteArray(), first.insertions());
+        merged.merge(second.toByteArray(), second.insertions());
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertThat(merged.mightContain(iban(i))).isTrue();
+        }
+        assertThat(merged.insertions()).isEqualTo(ENTRIES);
+    }
+
+    private static String iban(int i) {
+        return String.format("BG%02dBANK%014d", i % 100, i * 7919L);
+    }
+}
@@ -0,0 +1,118 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.hackathon.finlabvalidator.persistence.repository.IbanCopyParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IbanCopyParserTest {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    @Test
+    void parse_ShouldEmitEveryRow() throws IOException {
+        byte[] stream = copyStream(out -> {
+            row(out, 1, "BG80BANK12345678901234", "ALLOW");
+            row(out, 2, "DE89370400440532013000", "REVIEW");
+            row(out, 3, "NO9386011117947", "BLOCK");
+        });
+        List<String> rows = new ArrayList<>();
+
+        long count = new IbanCopyParser(new ByteArrayInputStream(stream))
+                .parse((id, iban, status) -> rows.add(id + ":" + iban + ":" + status));
+
+        assertThat(count).isEqualTo(3);
+        assertThat(rows).containsExactly(
+                "1:BG80BANK12345678901234:ALLOW",
+                "2:DE89370400440532013000:REVIEW",
+                "3:NO9386011117947:BLOCK");
+    }
+
+    @Test
+    void parse_ShouldHandleIbansLongerThanTheInitialBuffer() throws IOException {
+        String longIban = "X".repeat(200);
+        byte[] stream = copyStream(out -> {
+            row(out, 1, longIban, "ALLOW");
+            row(out, 2, "BG80BANK12345678901234", "BLOCK");
+        });
+        List<String> ibans = new ArrayList<>();
+
+        new IbanCopyParser(new ByteArrayInputStream(stream))
+                .parse((id, iban, status) -> ibans.add(iban.toString()));
+
+        assertThat(ibans).containsExactly(longIban, "BG80BANK12345678901234");
+    }
+
+    @Test
+    void parse_ShouldSkipHeaderExtension() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(4);
+        out.writeInt(0xCAFE);
+        row(out, 7, "BG80BANK12345678901234", "REVIEW");
+        out.writeShort(-1);
+
+        List<IbanStatus> statuses = new ArrayList<>();
+        new IbanCopyParser(new ByteArrayInputStream(bytes.toByteArray()))
+                .parse((id, iban, status) -> statuses.add(status));
+
+        assertThat(statuses).containsExactly(IbanStatus.REVIEW);
+    }
+
+    @Test
+    void parse_ShouldReject_UnknownStatus() throws IOException {
+        byte[] stream = copyStream(out -> row(out, 1, "BG80BANK12345678901234", "DENY"));
+
+        assertThatThrownBy(() -> new IbanCopyParser(new ByteArrayInputStream(stream)).parse((id, iban, status) -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("DENY");
+    }
+
+    @Test
+    void parse_ShouldReject_TextFormat() {
+        byte[] stream = "1\tBG80BANK12345678901234\tALLOW\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> new IbanCopyParser(new ByteArrayInputStream(stream)).parse((id, iban, status) -> { }))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static byte[] copyStream(Rows rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+        rows.write(out);
+        out.writeShort(-1);
+        return bytes.toByteArray();
+    }
+
+    private static void row(DataOutputStream out, long id, String iban, String status) throws IOException {
+        byte[] ibanBytes = iban.getBytes(StandardCharsets.US_ASCII);
+        byte[] statusBytes = status.getBytes(StandardCharsets.US_ASCII);
+        out.writeShort(3);
+        out.writeInt(Long.BYTES);
+        out.writeLong(id);
+        out.writeInt(ibanBytes.length);
+        out.write(ibanBytes);
+        out.writeInt(statusBytes.length);
+        out.write(statusBytes);
+    }
+
+    @FunctionalInterface
+    private interface Rows {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,90 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.validation.IbanFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanFormatTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "BG80BNBG96611020345678",
+            "DE89370400440532013000",
+            "GB29NWBK60161331926819",
+            "FR1420041010050500013M02606",
+            "NL91ABNA0417164300",
+            "NO9386011117947",
+            "MT84MALT011000012345MTLCAST001S"
+    })
+    void isValid_ShouldAcceptWellFormedIbans(String iban) {
+        assertThat(IbanFormat.isValid(iban)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "BI4210000100010000332045181",
+            "BY13NBRB3600900000002Z00AB00",
+            "DJ2100010000000154000100186",
+            "EG380019000500000000263180002",
+            "FK88SC123456789012",
+            "IQ98NBIQ850123456789012",
+            "LC55HEMM000100010012001200023015",
+            "LY83002048000020100120361",
+            "MN121234123456789123",
+            "MR1300020001010000123456753",
+            "NI45BAPR00000013000003558124",
+            "OM810180000001299123456",
+            "RU0304452522540817810538091310419",
+            "SC18SSCB11010000000000001497USD",
+            "SD2129010501234001",
+            "SO211000001001000100141",
+            "ST68000100010051845310112",
+            "SV62CENR00000000000000700025",
+            "TL380080012345678910157",
+            "VA59001123000012345678",
+            "YE15CBYE0001018861234567891234"
+    })
+    void isValid_ShouldAcceptRegistryExamples(String iban) {
+        assertThat(IbanFormat.isValid(iban)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "BG",
+            "BG80BNBG9661102034567",
+            "BG80BNBG966110203456789",
+            "BG81BNBG96611020345678",
+            "BG80BNBG9661102034567A",
+            "BG8OBNBG96611020345678",
+            "XX80BNBG96611020345678",
+            "DE89370400440532O13000",
+            "bg80bnbg96611020345678",
+            "BG80 BNBG 9661 1020 3456 78"
+    })
+    void isValid_ShouldRejectMalformedIbans(String iban) {
+        assertThat(IbanFormat.isValid(iban)).isFalse();
+    }
+
+    @Test
+    void isValid_ShouldRejectNull() {
+        assertThat(IbanFormat.isValid(null)).isFalse();
+    }
+
+    @Test
+    void canonicalize_ShouldStripSpacesAndUpperCase() {
+        assertThat(IbanFormat.canonicalize("bg80 bnbg 9661 1020 3456 78")).isEqualTo("BG80BNBG96611020345678");
+        assertThat(IbanFormat.isValid(IbanFormat.canonicalize("gb29 nwbk 6016 1331 9268 19"))).isTrue();
+    }
+
+    @Test
+    void canonicalize_ShouldReturnSameInstance_WhenAlreadyCanonical() {
+        String iban = "BG80BNBG96611020345678";
+
+        assertThat(IbanFormat.canonicalize(iban)).isSameAs(iban);
+        assertThat(IbanFormat.canonicalize(null)).isNull();
+    }
+}
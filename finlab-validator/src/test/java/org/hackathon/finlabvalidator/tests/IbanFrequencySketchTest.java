@@ -0,0 +1,85 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.IbanFrequencySketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanFrequencySketchTest {
+
+    private static final int HOT_IBANS = 1_000;
+    private static final int COLD_IBANS = 20_000;
+
+    @Test
+    void estimate_ShouldNeverUndercount() {
+        IbanFrequencySketch sketch = IbanFrequencySketch.create(HOT_IBANS);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String iban = iban(random.nextInt(COLD_IBANS));
+            sketch.record(iban);
+            actual.merge(iban, 1, Integer::sum);
+        }
+
+        actual.forEach((iban, count) -> assertThat(sketch.estimate(iban)).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void topK_ShouldReturnTheMostRequestedIbans_InSkewedTraffic() {
+        IbanFrequencySketch sketch = IbanFrequencySketch.create(HOT_IBANS);
+        Random random = new Random(7);
+        for (int i = 0; i < 300_000; i++) {
+            int id = random.nextInt(10) < 8 ? random.nextInt(HOT_IBANS) : HOT_IBANS + random.nextInt(COLD_IBANS);
+            sketch.record(iban(id));
+        }
+
+        Map<String, Integer> top = sketch.topK();
+
+        assertThat(top).hasSize(HOT_IBANS);
+        long hotFound = top.keySet().stream()
+                .filter(iban -> Integer.parseInt(iban.substring(8)) < HOT_IBANS)
+                .count();
+        assertThat(hotFound).isGreaterThanOrEqualTo(HOT_IBANS * 95 / 100);
+    }
+
+    @Test
+    void topK_ShouldBeOrderedByFrequency() {
+        IbanFrequencySketch sketch = IbanFrequencySketch.create(10);
+        for (int i = 0; i < 5; i++) {
+            for (int repeat = 0; repeat <= i * 10; repeat++) {
+                sketch.record(iban(i));
+            }
+        }
+
+        assertThat(sketch.topK().keySet()).containsExactly(iban(4), iban(3), iban(2), iban(1), iban(0));
+    }
+
+    @Test
+    void record_ShouldPruneOffThread_OnePruneAtATime() {
+        List<Runnable> pending = new ArrayList<>();
+        IbanFrequencySketch sketch = IbanFrequencySketch.create(100, pending::add);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.record(iban(i));
+        }
+        for (int repeat = 0; repeat < 5; repeat++) {
+            sketch.record(iban(150));
+        }
+
+        assertThat(pending).hasSize(1);
+
+        pending.get(0).run();
+
+        assertThat(sketch.topK()).hasSize(100);
+        assertThat(sketch.topK().keySet().iterator().next()).isEqualTo(iban(150));
+    }
+
+    private static String iban(int i) {
+        return String.format("BG00BANK%014d", i);
+    }
+}
@@ -0,0 +1,85 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.cache.IbanHedgePolicy;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanHedgePolicyTest {
+
+    private static final Duration SLOW_REDIS = Duration.ofMillis(300);
+
+    @Test
+    void hedge_ShouldReturnBackup_WhenPrimaryIsSlow() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IbanHedgePolicy policy = policy(registry, 1.0);
+
+        String result = policy.hedge(Mono.delay(SLOW_REDIS).thenReturn("redis"), () -> Mono.just("database"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("database");
+        assertThat(registry.counter("iban.hedge.wins", "tier", "database").count()).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_ShouldKeepPrimary_WhenBackupFails() {
+        IbanHedgePolicy policy = policy(new SimpleMeterRegistry(), 1.0);
+
+        String result = policy.hedge(Mono.delay(Duration.ofMillis(50)).thenReturn("redis"),
+                        () -> Mono.error(new IllegalStateException("database down")))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("redis");
+    }
+
+    @Test
+    void hedge_ShouldStopHedging_WhenBudgetIsSpent() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IbanHedgePolicy policy = policy(registry, 0.0);
+
+        List<String> results = Flux.range(0, 30)
+                .flatMap(i -> policy.hedge(Mono.delay(SLOW_REDIS).thenReturn("redis"), () -> Mono.just("database")))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).filteredOn("database"::equals).hasSize(10);
+        assertThat(registry.counter("iban.hedge.budget.exhausted").count()).isEqualTo(20);
+    }
+
+    @Test
+    void timed_ShouldLowerDelay_ToFastRedisReads() {
+        IbanHedgePolicy policy = policy(new SimpleMeterRegistry(), 0.05);
+        assertThat(policy.delay()).isEqualTo(Duration.ofMillis(20));
+
+        for (int i = 0; i < 256; i++) {
+            policy.timed(Mono.just("redis")).block();
+        }
+
+        assertThat(policy.delay()).isEqualTo(Duration.ofMillis(1));
+    }
+
+    @Test
+    void timed_ShouldRecordCancelledReads() {
+        IbanHedgePolicy policy = policy(new SimpleMeterRegistry(), 0.05);
+        for (int i = 0; i < 256; i++) {
+            policy.timed(Mono.just("redis")).block();
+        }
+        assertThat(policy.delay()).isEqualTo(Duration.ofMillis(1));
+
+        for (int i = 0; i < 256; i++) {
+            policy.timed(Mono.never()).timeout(Duration.ofMillis(5), Mono.just("database")).block();
+        }
+
+        assertThat(policy.delay()).isGreaterThanOrEqualTo(Duration.ofMillis(5));
+    }
+
+    private static IbanHedgePolicy policy(SimpleMeterRegistry registry, double budget) {
+        return new IbanHedgePolicy(registry, true, 0.95, Duration.ofMillis(1), Duration.ofMillis(20), budget);
+    }
+}
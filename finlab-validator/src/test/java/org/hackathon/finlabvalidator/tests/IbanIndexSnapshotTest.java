@@ -0,0 +1,90 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.IbanIndexSnapshot;
+import org.hackathon.finlabvalidator.application.cache.IbanStatusIndex;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IbanIndexSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ShouldServeSameStatuses_AsWrittenIndex() throws IOException {
+        IbanStatusIndex index = sampleIndex();
+        Path path = directory.resolve("iban-index.snap");
+
+        IbanIndexSnapshot.write(path, index, 1_700_000_000_000_000L);
+        IbanIndexSnapshot snapshot = IbanIndexSnapshot.read(path);
+
+        assertThat(snapshot.watermark()).isEqualTo(1_700_000_000_000_000L);
+        assertThat(snapshot.index().size()).isEqualTo(index.size());
+        assertThat(snapshot.index().fallbackSize()).isEqualTo(3);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(snapshot.index().find(seeded(i))).isEqualTo(IbanStatus.values()[i % 3]);
+        }
+        assertThat(snapshot.index().find("DE89370400440532013000")).isEqualTo(IbanStatus.BLOCK);
+        assertThat(snapshot.index().find("GB29NWBK60161331926819")).isEqualTo(IbanStatus.REVIEW);
+        assertThat(snapshot.index().find("NL91ABNA0417164300")).isEqualTo(IbanStatus.ALLOW);
+        assertThat(snapshot.index().find("BG80BANK99999999999999")).isNull();
+        assertThat(snapshot.index().find("FR1420041010050500013M02606")).isNull();
+    }
+
+    @Test
+    void write_ShouldReplaceExistingSnapshot() throws IOException {
+        Path path = directory.resolve("iban-index.snap");
+        IbanIndexSnapshot.write(path, sampleIndex(), 1);
+
+        IbanStatusIndex replacement = IbanStatusIndex.builder(1)
+                .add(seeded(0), IbanStatus.BLOCK)
+                .build();
+        IbanIndexSnapshot.write(path, replacement, 2);
+
+        IbanIndexSnapshot snapshot = IbanIndexSnapshot.read(path);
+        assertThat(snapshot.watermark()).isEqualTo(2);
+        assertThat(snapshot.index().size()).isEqualTo(1);
+        assertThat(snapshot.index().find(seeded(0))).isEqualTo(IbanStatus.BLOCK);
+        assertThat(directory.toFile().list()).containsExactly("iban-index.snap");
+    }
+
+    @Test
+    void read_ShouldReject_CorruptedBody() throws IOException {
+        Path path = directory.resolve("iban-index.snap");
+        IbanIndexSnapshot.write(path, sampleIndex(), 1);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xff}), 100);
+        }
+
+        assertThatThrownBy(() -> IbanIndexSnapshot.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    private static IbanStatusIndex sampleIndex() {
+        IbanStatusIndex.Builder builder = IbanStatusIndex.builder(1000);
+        for (int i = 0; i < 1000; i++) {
+            builder.add(seeded(i), IbanStatus.values()[i % 3]);
+        }
+        return builder
+                .add("DE89370400440532013000", IbanStatus.BLOCK)
+                .add("GB29NWBK60161331926819", IbanStatus.REVIEW)
+                .add("NL91ABNA0417164300", IbanStatus.ALLOW)
+                .build();
+    }
+
+    private static String seeded(int i) {
+        return String.format("BG%02dBANK%014d", i % 100, i * 7919L);
+    }
+}
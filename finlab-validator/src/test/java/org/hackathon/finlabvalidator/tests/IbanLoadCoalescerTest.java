@@ -0,0 +1,85 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.cache.IbanLoadCoalescer;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanLoadCoalescerTest {
+
+    private static final String IBAN = "BG80BANK12345678901234";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IbanLoadCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new IbanLoadCoalescer(meterRegistry);
+    }
+
+    @Test
+    void load_ShouldRunLoaderOnce_ForConcurrentCallers() {
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        List<Optional<IbanStatus>> results = Flux.range(0, 100)
+                .flatMap(i -> coalescer.load(IBAN, () -> {
+                    loaderCalls.incrementAndGet();
+                    return Mono.just(Optional.of(IbanStatus.ALLOW)).delayElement(Duration.ofMillis(200));
+                }))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(100).allMatch(result -> result.equals(Optional.of(IbanStatus.ALLOW)));
+        assertThat(loaderCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("iban.load.requests").tag("result", "coalesced").counter().count()).isEqualTo(99);
+        assertThat(meterRegistry.get("iban.load.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void load_ShouldRunLoaderAgain_AfterPreviousLoadCompleted() {
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.load(IBAN, () -> {
+                loaderCalls.incrementAndGet();
+                return Mono.just(Optional.<IbanStatus>empty());
+            }).block(Duration.ofSeconds(1));
+        }
+
+        assertThat(loaderCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void load_ShouldPropagateErrorToAllWaiters_AndAllowRetry() {
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        List<Boolean> failures = Flux.range(0, 10)
+                .flatMap(i -> coalescer.load(IBAN, () -> {
+                            loaderCalls.incrementAndGet();
+                            return Mono.<Optional<IbanStatus>>error(new IllegalStateException("db down"))
+                                    .delaySubscription(Duration.ofMillis(100));
+                        })
+                        .map(result -> false)
+                        .onErrorReturn(true))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(failures).hasSize(10).containsOnly(true);
+        assertThat(loaderCalls.get()).isEqualTo(1);
+
+        Optional<IbanStatus> retried = coalescer.load(IBAN, () -> Mono.just(Optional.of(IbanStatus.BLOCK)))
+                .block(Duration.ofSeconds(1));
+        assertThat(retried).contains(IbanStatus.BLOCK);
+    }
+}
@@ -0,0 +1,44 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupMetrics;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupMetrics.Tier;
+import org.hackathon.finlabvalidator.application.cache.IbanLookupTimings;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanLookupMetricsTest {
+
+    @Test
+    void time_ShouldRecordTierTimer_AndAddToRequestTimings() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IbanLookupMetrics metrics = new IbanLookupMetrics(registry);
+        IbanLookupTimings timings = new IbanLookupTimings();
+
+        metrics.time(Tier.REDIS, Mono.just("ALLOW"), value -> "hit", "miss")
+                .then(metrics.time(Tier.DATABASE, Mono.empty(), value -> "found", "not-found"))
+                .contextWrite(Context.of(IbanLookupTimings.class, timings))
+                .block();
+
+        assertThat(registry.get("iban.lookup").tag("tier", "redis").tag("outcome", "hit").timer().count()).isEqualTo(1);
+        assertThat(registry.get("iban.lookup").tag("tier", "db").tag("outcome", "not-found").timer().count()).isEqualTo(1);
+        assertThat(timings.toHeader()).matches("redis;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    void recordResult_ShouldCountStatuses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IbanLookupMetrics metrics = new IbanLookupMetrics(registry);
+
+        metrics.recordResult(IbanStatus.ALLOW);
+        metrics.recordResult(IbanStatus.ALLOW);
+        metrics.recordResult(null);
+
+        assertThat(registry.get("iban.lookup.results").tag("status", "ALLOW").counter().count()).isEqualTo(2);
+        assertThat(registry.get("iban.lookup.results").tag("status", "NOT_FOUND").counter().count()).isEqualTo(1);
+    }
+}
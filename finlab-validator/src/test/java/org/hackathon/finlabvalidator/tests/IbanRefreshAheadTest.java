@@ -0,0 +1,61 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.cache.IbanRefreshAhead;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanRefreshAheadTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IbanRefreshAhead refreshAhead = new IbanRefreshAhead(meterRegistry, true, WINDOW);
+
+    @Test
+    void shouldRefresh_ShouldNeverTrigger_OutsideTheWindowOrWithoutTtl() {
+        assertThat(IntStream.range(0, 10_000)
+                .anyMatch(i -> refreshAhead.shouldRefresh(WINDOW.toMillis())
+                        || refreshAhead.shouldRefresh(3_600_000)
+                        || refreshAhead.shouldRefresh(-1)))
+                .isFalse();
+    }
+
+    @Test
+    void shouldRefresh_ShouldTriggerMoreOften_AsExpiryApproaches() {
+        long nearExpiry = countRefreshes(1_000);
+        long halfway = countRefreshes(30_000);
+        long windowStart = countRefreshes(59_000);
+
+        assertThat(nearExpiry).isGreaterThan(halfway);
+        assertThat(halfway).isGreaterThan(windowStart);
+        assertThat(halfway).isBetween(4_000L, 6_000L);
+    }
+
+    @Test
+    void shouldRefresh_ShouldNeverTrigger_WhenDisabled() {
+        IbanRefreshAhead disabled = new IbanRefreshAhead(meterRegistry, false, WINDOW);
+
+        assertThat(IntStream.range(0, 1_000).anyMatch(i -> disabled.shouldRefresh(0))).isFalse();
+    }
+
+    @Test
+    void record_ShouldCountRefreshesAndMissesSeparately() {
+        refreshAhead.recordRefresh();
+        refreshAhead.recordRefresh();
+        refreshAhead.recordMisses(3);
+
+        assertThat(meterRegistry.get("iban.cache.refresh").tag("type", "ahead").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("iban.cache.refresh").tag("type", "miss").counter().count()).isEqualTo(3);
+    }
+
+    private long countRefreshes(long ttlMillis) {
+        return IntStream.range(0, 10_000)
+                .filter(i -> refreshAhead.shouldRefresh(ttlMillis))
+                .count();
+    }
+}
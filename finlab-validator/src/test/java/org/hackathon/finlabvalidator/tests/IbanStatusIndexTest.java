@@ -0,0 +1,89 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.IbanStatusIndex;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanStatusIndexTest {
+
+    @Test
+    void find_ShouldReturnStatus_ForPackedIbans() {
+        IbanStatusIndex index = IbanStatusIndex.builder(3)
+                .add("BG80BANK12345678901234", IbanStatus.ALLOW)
+                .add("BG11BANK00000000000000", IbanStatus.REVIEW)
+                .add("BG99BANK99999999999999", IbanStatus.BLOCK)
+                .build();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.fallbackSize()).isZero();
+        assertThat(index.find("BG80BANK12345678901234")).isEqualTo(IbanStatus.ALLOW);
+        assertThat(index.find("BG11BANK00000000000000")).isEqualTo(IbanStatus.REVIEW);
+        assertThat(index.find("BG99BANK99999999999999")).isEqualTo(IbanStatus.BLOCK);
+    }
+
+    @Test
+    void find_ShouldReturnNull_ForUnknownIbans() {
+        IbanStatusIndex index = IbanStatusIndex.builder(1)
+                .add("BG80BANK12345678901234", IbanStatus.ALLOW)
+                .add("DE89370400440532013000", IbanStatus.BLOCK)
+                .build();
+
+        assertThat(index.find("BG80BANK12345678901235")).isNull();
+        assertThat(index.find("DE89370400440532013001")).isNull();
+        assertThat(index.find("")).isNull();
+        assertThat(index.find("garbage")).isNull();
+    }
+
+    @Test
+    void find_ShouldUseFallback_ForIbansOutsidePackedLayout() {
+        IbanStatusIndex index = IbanStatusIndex.builder(2)
+                .add("DE89370400440532013000", IbanStatus.BLOCK)
+                .add("GB29NWBK60161331926819", IbanStatus.REVIEW)
+                .add("BG80BNBG96611020345678", IbanStatus.ALLOW)
+                .build();
+
+        assertThat(index.fallbackSize()).isEqualTo(3);
+        assertThat(index.find("DE89370400440532013000")).isEqualTo(IbanStatus.BLOCK);
+        assertThat(index.find("GB29NWBK60161331926819")).isEqualTo(IbanStatus.REVIEW);
+        assertThat(index.find("BG80BNBG96611020345678")).isEqualTo(IbanStatus.ALLOW);
+    }
+
+    @Test
+    void build_ShouldKeepLastStatus_ForDuplicateIbans() {
+        IbanStatusIndex index = IbanStatusIndex.builder(2)
+                .add("BG80BANK12345678901234", IbanStatus.ALLOW)
+                .add("BG80BANK12345678901234", IbanStatus.BLOCK)
+                .add("DE89370400440532013000", IbanStatus.ALLOW)
+                .add("DE89370400440532013000", IbanStatus.REVIEW)
+                .build();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.find("BG80BANK12345678901234")).isEqualTo(IbanStatus.BLOCK);
+        assertThat(index.find("DE89370400440532013000")).isEqualTo(IbanStatus.REVIEW);
+    }
+
+    @Test
+    void find_ShouldMatchReference_ForLargeRandomDataset() {
+        Random random = new Random(42);
+        Map<String, IbanStatus> expected = new HashMap<>();
+        IbanStatusIndex.Builder builder = IbanStatusIndex.builder(10);
+
+        for (int i = 0; i < 50_000; i++) {
+            String iban = String.format("BG%02dBANK%014d", random.nextInt(100), Math.abs(random.nextLong() % 100_000_000_000_000L));
+            IbanStatus status = IbanStatus.values()[random.nextInt(3)];
+            expected.put(iban, status);
+            builder.add(iban, status);
+        }
+
+        IbanStatusIndex index = builder.build();
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        expected.forEach((iban, status) -> assertThat(index.find(iban)).isEqualTo(status));
+    }
+}
@@ -0,0 +1,64 @@
+package org.hackathon.finlabvalidator.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hackathon.finlabvalidator.api.controllers.IbanStatusResponses;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanStatusResponsesTest {
+
+    private final IbanStatusResponses responses = new IbanStatusResponses("1", Duration.ofSeconds(30), false);
+
+    @Test
+    void of_ShouldServePreEncodedJson_WithCachingHeaders() throws Exception {
+        for (IbanStatus status : IbanStatus.values()) {
+            ResponseEntity<byte[]> response = responses.of(status, null);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isEqualTo(new ObjectMapper().writeValueAsBytes(status));
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(response.getHeaders().getETag()).isEqualTo("W/\"v1-" + status.name() + "\"");
+            assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=30, private");
+        }
+    }
+
+    @Test
+    void of_ShouldAnswerNotModified_WhenIfNoneMatchContainsEtag() {
+        String etag = responses.etag(IbanStatus.BLOCK);
+
+        for (String ifNoneMatch : new String[]{etag, "\"v1-BLOCK\"", "\"v0-BLOCK\", " + etag, "*"}) {
+            ResponseEntity<byte[]> response = responses.of(IbanStatus.BLOCK, ifNoneMatch);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+            assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=30, private");
+        }
+    }
+
+    @Test
+    void of_ShouldServeBody_WhenStatusChanged() {
+        ResponseEntity<byte[]> response = responses.of(IbanStatus.BLOCK, responses.etag(IbanStatus.ALLOW));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(responses.etag(IbanStatus.BLOCK));
+    }
+
+    @Test
+    void of_ShouldRequireRevalidation_WhenMaxAgeIsZero() {
+        IbanStatusResponses shared = new IbanStatusResponses("2", Duration.ZERO, true);
+
+        HttpHeaders headers = shared.of(IbanStatus.ALLOW, null).getHeaders();
+
+        assertThat(headers.getCacheControl()).isEqualTo("no-cache, public");
+        assertThat(headers.getETag()).isEqualTo("W/\"v2-ALLOW\"");
+    }
+}
@@ -0,0 +1,98 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.IAccountService;
+import org.hackathon.finlabvalidator.application.IbanStreamService;
+import org.hackathon.finlabvalidator.persistence.domain.IbanStatus;
+import org.hackathon.finlabvalidator.persistence.domain.IbanValidationResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanStreamServiceTest {
+
+    @Test
+    void validate_ShouldEmitResultPerInput_InInputOrder() {
+        ChunkRecordingAccountService accountService = new ChunkRecordingAccountService(Duration.ZERO);
+        IbanStreamService service = new IbanStreamService(accountService, 3, 2);
+
+        List<IbanValidationResult> results = service
+                .validate(Flux.just("BG80BANK12345678901234", "unknown-1", "bg11 bank 0000 0000 0000 00", "UNKNOWN-2"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly(
+                new IbanValidationResult("BG80BANK12345678901234", IbanStatus.ALLOW),
+                new IbanValidationResult("unknown-1", null),
+                new IbanValidationResult("bg11 bank 0000 0000 0000 00", IbanStatus.ALLOW),
+                new IbanValidationResult("UNKNOWN-2", null)
+        );
+        assertThat(accountService.chunkSizes).containsExactly(3, 1);
+    }
+
+    @Test
+    void validate_ShouldBoundChunksInFlight_AndKeepOrder() {
+        ChunkRecordingAccountService accountService = new ChunkRecordingAccountService(Duration.ofMillis(5));
+        IbanStreamService service = new IbanStreamService(accountService, 10, 4);
+
+        List<String> ibans = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ibans.add(String.format("BG%02dBANK%014d", i % 100, i));
+        }
+
+        List<IbanValidationResult> results = service.validate(Flux.fromIterable(ibans))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(results).extracting(IbanValidationResult::iban).containsExactlyElementsOf(ibans);
+        assertThat(accountService.chunkSizes).hasSize(100).containsOnly(10);
+        assertThat(accountService.maxInFlight.get()).isBetween(2, 4);
+    }
+
+    private static final class ChunkRecordingAccountService implements IAccountService {
+
+        private final Duration latency;
+        private final List<Integer> chunkSizes = new ArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private ChunkRecordingAccountService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Mono<IbanStatus> validate(String iban) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Map<String, IbanStatus>> validateAll(Collection<String> ibans) {
+            return Mono.defer(() -> {
+                synchronized (chunkSizes) {
+                    chunkSizes.add(ibans.size());
+                }
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                Map<String, IbanStatus> found = new HashMap<>();
+                for (String iban : ibans) {
+                    String canonical = iban.replace(" ", "").toUpperCase();
+                    if (!canonical.startsWith("UNKNOWN")) {
+                        found.put(canonical, IbanStatus.ALLOW);
+                    }
+                }
+                return Mono.delay(latency)
+                        .thenReturn(found)
+                        .doOnTerminate(inFlight::decrementAndGet);
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.hackathon.finlabvalidator.tests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hackathon.finlabvalidator.application.cache.IbanWarmupState;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IbanWarmupStateTest {
+
+    @Test
+    void isWarm_ShouldFollowFinishedPartitions() {
+        IbanWarmupState state = new IbanWarmupState(new SimpleMeterRegistry());
+        state.started(1, 8);
+        state.pageWritten(10_000);
+        state.partitionsDone(4);
+
+        assertThat(state.warmRatio()).isEqualTo(0.5);
+        assertThat(state.isWarm(0.75)).isFalse();
+        assertThat(state.etaSeconds()).isGreaterThanOrEqualTo(0);
+
+        state.partitionsDone(6);
+        assertThat(state.isWarm(0.75)).isTrue();
+    }
+
+    @Test
+    void isWarm_ShouldStayWarm_DuringLaterRuns() {
+        IbanWarmupState state = new IbanWarmupState(new SimpleMeterRegistry());
+        state.started(1, 8);
+        state.completed();
+        state.started(2, 8);
+
+        assertThat(state.warmRatio()).isZero();
+        assertThat(state.isWarm(1.0)).isTrue();
+        assertThat(state.details()).containsEntry("run", 2L);
+    }
+
+    @Test
+    void isWarm_ShouldBeFalse_AfterFailedFirstRun() {
+        IbanWarmupState state = new IbanWarmupState(new SimpleMeterRegistry());
+        state.started(1, 8);
+        state.failed(new IllegalStateException("redis down"));
+
+        assertThat(state.isWarm(0.5)).isFalse();
+        assertThat(state.etaSeconds()).isEqualTo(-1);
+        assertThat(state.details()).containsEntry("lastError", "redis down");
+    }
+}
@@ -0,0 +1,99 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the stores' Lua scripts with LuaJ against in-memory hashes, so script logic can be tested without Redis.
+ * Supports the hash commands the scripts use: HSET, HGET, HDEL, TTL and EXPIRE.
+ */
+final class LuaRedisTemplate extends ReactiveStringRedisTemplate {
+
+    final Map<String, Map<String, String>> hashes = new HashMap<>();
+    final Map<String, Long> ttls = new HashMap<>();
+
+    LuaRedisTemplate() {
+        super(Mockito.mock(ReactiveRedisConnectionFactory.class));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+        Globals globals = JsePlatform.standardGlobals();
+        LuaTable redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs call) {
+                return LuaRedisTemplate.this.call(call);
+            }
+        });
+        globals.set("redis", redis);
+        globals.set("KEYS", table(keys));
+        globals.set("ARGV", table(args));
+
+        LuaValue result = globals.load(script.getScriptAsString()).call();
+        if (result.istable()) {
+            List<String> values = new ArrayList<>();
+            for (int i = 1; i <= result.length(); i++) {
+                LuaValue value = result.get(i);
+                values.add(value.isstring() ? value.tojstring() : null);
+            }
+            return Flux.just((T) values);
+        }
+        return Flux.just((T) Long.valueOf(result.tolong()));
+    }
+
+    private LuaValue call(Varargs call) {
+        String command = call.arg1().tojstring().toUpperCase();
+        String key = call.arg(2).tojstring();
+        Map<String, String> hash = hashes.get(key);
+        switch (command) {
+            case "HSET" -> {
+                hashes.computeIfAbsent(key, k -> new HashMap<>()).put(call.arg(3).tojstring(), call.arg(4).tojstring());
+                return LuaValue.valueOf(1);
+            }
+            case "HGET" -> {
+                String value = hash == null ? null : hash.get(call.arg(3).tojstring());
+                return value == null ? LuaValue.FALSE : LuaValue.valueOf(value);
+            }
+            case "HDEL" -> {
+                boolean removed = hash != null && hash.remove(call.arg(3).tojstring()) != null;
+                if (hash != null && hash.isEmpty()) {
+                    hashes.remove(key);
+                    ttls.remove(key);
+                }
+                return LuaValue.valueOf(removed ? 1 : 0);
+            }
+            case "TTL" -> {
+                return LuaValue.valueOf(hash == null ? -2 : ttls.getOrDefault(key, -1L));
+            }
+            case "EXPIRE" -> {
+                ttls.put(key, call.arg(3).checklong());
+                return LuaValue.valueOf(1);
+            }
+            default -> throw new UnsupportedOperationException(command);
+        }
+    }
+
+    private static LuaTable table(List<?> values) {
+        LuaTable table = new LuaTable();
+        for (int i = 0; i < values.size(); i++) {
+            table.set(i + 1, LuaValue.valueOf(String.valueOf(values.get(i))));
+        }
+        return table;
+    }
+}
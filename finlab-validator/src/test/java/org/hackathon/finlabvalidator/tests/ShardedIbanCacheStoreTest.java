@@ -0,0 +1,124 @@
+package org.hackathon.finlabvalidator.tests;
+
+import org.hackathon.finlabvalidator.application.cache.IIbanCacheStore;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheEntry;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheHit;
+import org.hackathon.finlabvalidator.application.cache.IbanCacheShardRing;
+import org.hackathon.finlabvalidator.application.cache.IbanWriteFence;
+import org.hackathon.finlabvalidator.application.cache.ShardedIbanCacheStore;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedIbanCacheStoreTest {
+
+    private static final List<String> NODES = List.of("redis-a:6379", "redis-b:6379", "redis-c:6379");
+    private static final int IBANS = 30_000;
+
+    @Test
+    void shardFor_ShouldSpreadIbansEvenly() {
+        IbanCacheShardRing ring = new IbanCacheShardRing(NODES);
+        int[] counts = new int[NODES.size()];
+        for (int i = 0; i < IBANS; i++) {
+            counts[ring.shardFor(iban(i))]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(IBANS / NODES.size() * 8 / 10, IBANS / NODES.size() * 12 / 10);
+        }
+    }
+
+    @Test
+    void shardFor_ShouldOnlyMoveKeysOfAddedNode() {
+        IbanCacheShardRing before = new IbanCacheShardRing(NODES);
+        List<String> grown = new ArrayList<>(NODES);
+        grown.add("redis-d:6379");
+        IbanCacheShardRing after = new IbanCacheShardRing(grown);
+
+        int moved = 0;
+        for (int i = 0; i < IBANS; i++) {
+            int shard = after.shardFor(iban(i));
+            if (shard != before.shardFor(iban(i))) {
+                assertThat(shard).isEqualTo(3);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(IBANS / 4 * 7 / 10, IBANS / 4 * 13 / 10);
+    }
+
+    @Test
+    void getAll_ShouldKeepRequestOrder_AcrossShards() {
+        List<InMemoryStore> shards = List.of(new InMemoryStore(), new InMemoryStore(), new InMemoryStore());
+        ShardedIbanCacheStore store = new ShardedIbanCacheStore(List.copyOf(shards), null,
+                new IbanCacheShardRing(NODES), null);
+
+        List<IbanCacheEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i += 2) {
+            entries.add(new IbanCacheEntry(iban(i), "ALLOW" + i, Duration.ofMinutes(1)));
+        }
+        store.putAll(entries).block();
+
+        List<String> requested = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requested.add(iban(i));
+        }
+        List<String> values = store.getAll(requested).block();
+
+        assertThat(values).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(values.get(i)).isEqualTo(i % 2 == 0 ? "ALLOW" + i : null);
+        }
+        assertThat(shards).allSatisfy(shard -> assertThat(shard.values).isNotEmpty());
+    }
+
+    private static String iban(int i) {
+        return String.format("BG%02dBANK%014d", i % 100, i * 7919L);
+    }
+
+    private static final class InMemoryStore implements IIbanCacheStore {
+
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<String> get(String iban) {
+            return Mono.justOrEmpty(values.get(iban));
+        }
+
+        @Override
+        public Mono<IbanCacheHit> getWithTtl(String iban) {
+            return get(iban).map(value -> new IbanCacheHit(value, IbanCacheHit.UNKNOWN_TTL));
+        }
+
+        @Override
+        public Mono<List<String>> getAll(List<String> ibans) {
+            return Mono.fromSupplier(() -> ibans.stream().map(values::get).toList());
+        }
+
+        @Override
+        public Mono<Void> put(String iban, String value, Duration ttl) {
+            return Mono.fromRunnable(() -> values.put(iban, value));
+        }
+
+        @Override
+        public Mono<Void> putAll(List<IbanCacheEntry> entries) {
+            return Mono.fromRunnable(() -> entries.forEach(entry -> values.put(entry.iban(), entry.value())));
+        }
+
+        @Override
+        public Mono<Boolean> putAll(List<IbanCacheEntry> entries, IbanWriteFence fence) {
+            return putAll(entries).thenReturn(true);
+        }
+
+        @Override
+        public String keyPattern() {
+            return "iban:*";
+        }
+    }
+}
@@ -106,6 +106,7 @@ class StressTestResultServiceTest {
         assertThat(result.averageResponseTime()).isEqualTo(166);
         assertThat(result.minResponseTime()).isEqualTo(100);
         assertThat(result.maxResponseTime()).isEqualTo(250);
+        assertThat(result.throughput()).isEqualTo(6.67);
     }
 
     @Test
@@ -121,6 +122,7 @@ class StressTestResultServiceTest {
         assertThat(result.p90ResponseTime()).isGreaterThan(0);
         assertThat(result.p95ResponseTime()).isGreaterThan(0);
         assertThat(result.p95ResponseTime()).isGreaterThanOrEqualTo(result.p90ResponseTime());
+        assertThat(result.p99ResponseTime()).isEqualTo(1080);
     }
 
     @Test
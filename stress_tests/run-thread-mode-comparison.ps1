@@ -0,0 +1,17 @@
+param(
+    [Parameter(Mandatory = $true)][string]$ApiKey,
+    [Parameter(Mandatory = $true)][string]$Iban
+)
+
+$timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+$composeFile = Join-Path $PSScriptRoot "..\infra\docker-compose.yaml"
+
+foreach ($mode in @("platform", "virtual")) {
+    $env:VALIDATOR_VIRTUAL_THREADS = if ($mode -eq "virtual") { "true" } else { "false" }
+    docker compose -f $composeFile up -d --force-recreate --wait validator
+    $testId = "extreme-load-$mode-threads-$timestamp"
+    docker exec validator-jmeter sh -c "jmeter -n -t /tests/extreme-load.jmx -Jgateway.host=nginx -Jgateway.port=443 -Japi.key=$ApiKey -Jauth.username=jmeter-user -Jtest.iban=$Iban -l /results/$testId-results.jtl -j /results/$testId.log"
+    docker logs validator-service 2>&1 | Select-String "Thread\[#" | Out-File "$PSScriptRoot\$testId-pinned.log"
+}
+
+Remove-Item Env:VALIDATOR_VIRTUAL_THREADS